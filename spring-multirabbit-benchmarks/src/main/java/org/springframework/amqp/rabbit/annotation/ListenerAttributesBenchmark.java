@@ -0,0 +1,98 @@
+package org.springframework.amqp.rabbit.annotation;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.annotation.AnnotationUtils;
+
+/**
+ * Measures the replacement of the admin of a {@link RabbitListener} followed by the reads of all its attributes, as
+ * done by the listener annotation processor, with a reflective proxy delegating each read to the original annotation,
+ * with an annotation synthesized by Spring from the attributes, and with the map-backed copy of
+ * {@link AdminRabbitListener}, which reads the attributes once.
+ *
+ * @author Wander Costa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerAttributesBenchmark {
+
+    private static final String ADMIN = "connection0-admin";
+    private static final int READS = 3;
+
+    private RabbitListener rabbitListener;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        rabbitListener = ListenerAttributesBenchmark.class.getDeclaredMethod("listen", String.class)
+                .getAnnotation(RabbitListener.class);
+    }
+
+    @RabbitListener(containerFactory = "connection0", bindings = @QueueBinding(exchange = @Exchange("exchange"),
+            value = @Queue("queue"), key = "routing-key"))
+    void listen(final String message) {
+        // not consumed
+    }
+
+    @Benchmark
+    public void reflectiveProxy(final Blackhole blackhole) {
+        final RabbitListener view = (RabbitListener) Proxy.newProxyInstance(RabbitListener.class.getClassLoader(),
+                new Class<?>[]{RabbitListener.class}, (proxy, method, args) -> "admin".equals(method.getName())
+                        ? ADMIN
+                        : method.invoke(rabbitListener, args));
+        readAll(view, blackhole);
+    }
+
+    @Benchmark
+    public void synthesizedAnnotation(final Blackhole blackhole) {
+        final Map<String, Object> attributes = AnnotationUtils.getAnnotationAttributes(rabbitListener);
+        attributes.put("admin", ADMIN);
+        readAll(AnnotationUtils.synthesizeAnnotation(attributes, RabbitListener.class, null), blackhole);
+    }
+
+    @Benchmark
+    public void adminRabbitListener(final Blackhole blackhole) {
+        readAll(AdminRabbitListener.of(rabbitListener, ADMIN), blackhole);
+    }
+
+    private void readAll(final RabbitListener view, final Blackhole blackhole) {
+        for (int i = 0; i < READS; i++) {
+            blackhole.consume(view.id());
+            blackhole.consume(view.containerFactory());
+            blackhole.consume(view.queues());
+            blackhole.consume(view.queuesToDeclare());
+            blackhole.consume(view.exclusive());
+            blackhole.consume(view.priority());
+            blackhole.consume(view.admin());
+            blackhole.consume(view.bindings());
+            blackhole.consume(view.group());
+            blackhole.consume(view.returnExceptions());
+            blackhole.consume(view.errorHandler());
+            blackhole.consume(view.concurrency());
+            blackhole.consume(view.autoStartup());
+            blackhole.consume(view.executor());
+            blackhole.consume(view.ackMode());
+            blackhole.consume(view.replyPostProcessor());
+            blackhole.consume(view.messageConverter());
+            blackhole.consume(view.replyContentType());
+            blackhole.consume(view.converterWinsContentType());
+        }
+    }
+}
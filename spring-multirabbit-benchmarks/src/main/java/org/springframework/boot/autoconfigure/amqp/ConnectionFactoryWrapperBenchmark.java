@@ -0,0 +1,60 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+
+/**
+ * Measures {@link MultiRabbitConnectionFactoryWrapper#getConnectionFactories()}, which builds the map of the connection
+ * factories of all entries on each call.
+ *
+ * @author Wander Costa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectionFactoryWrapperBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int entries;
+
+    private CachingConnectionFactory target;
+    private MultiRabbitConnectionFactoryWrapper wrapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        target = new CachingConnectionFactory();
+        wrapper = new MultiRabbitConnectionFactoryWrapper();
+        for (int i = 0; i < entries; i++) {
+            wrapper.addConnectionFactory("connection" + i, target);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        target.destroy();
+    }
+
+    @Benchmark
+    public Map<Object, ConnectionFactory> getConnectionFactories() {
+        return wrapper.getConnectionFactories();
+    }
+}
@@ -0,0 +1,82 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.SimpleRoutingConnectionFactory;
+
+/**
+ * Measures the binding and unbinding of a context by {@link ConnectionFactoryContextWrapper#run(String, Runnable)}
+ * and {@link ConnectionFactoryContextWrapper#call(String, Callable)}, with nothing executed in between, through
+ * {@link org.springframework.amqp.rabbit.connection.SimpleResourceHolder} and through the thread-local slot of the
+ * {@link MultiRabbitRoutingConnectionFactory}.
+ *
+ * @author Wander Costa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextWrapperBenchmark {
+
+    private static final String CONTEXT_NAME = "connection0";
+
+    private final Runnable runnable = () -> { };
+    private final Callable<String> callable = () -> CONTEXT_NAME;
+
+    private CachingConnectionFactory target;
+    private ConnectionFactoryContextWrapper simpleWrapper;
+    private ConnectionFactoryContextWrapper multiRabbitWrapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        target = new CachingConnectionFactory();
+        final SimpleRoutingConnectionFactory simple = new SimpleRoutingConnectionFactory();
+        simple.setTargetConnectionFactories(Collections.singletonMap(CONTEXT_NAME, target));
+        simpleWrapper = new ConnectionFactoryContextWrapper(simple);
+        final MultiRabbitRoutingConnectionFactory multiRabbit = new MultiRabbitRoutingConnectionFactory();
+        multiRabbit.setTargetConnectionFactories(Collections.singletonMap(CONTEXT_NAME, target));
+        multiRabbitWrapper = new ConnectionFactoryContextWrapper(multiRabbit);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        target.destroy();
+    }
+
+    @Benchmark
+    public void runSimpleResourceHolder() {
+        simpleWrapper.run(CONTEXT_NAME, runnable);
+    }
+
+    @Benchmark
+    public void runMultiRabbitRoute() {
+        multiRabbitWrapper.run(CONTEXT_NAME, runnable);
+    }
+
+    @Benchmark
+    public String callSimpleResourceHolder() throws Exception {
+        return simpleWrapper.call(CONTEXT_NAME, callable);
+    }
+
+    @Benchmark
+    public String callMultiRabbitRoute() throws Exception {
+        return multiRabbitWrapper.call(CONTEXT_NAME, callable);
+    }
+}
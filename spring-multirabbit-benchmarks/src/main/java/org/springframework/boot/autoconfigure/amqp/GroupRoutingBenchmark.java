@@ -0,0 +1,67 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * Measures the routing of a key to the member of a group of {@link MultiRabbitGroups}, which is added to each publish
+ * to a group.
+ *
+ * @author Wander Costa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupRoutingBenchmark {
+
+    private static final String GROUP = "orders";
+    private static final int KEYS = 1024;
+
+    @Param({"2", "16"})
+    private int members;
+
+    private final String[] keys = new String[KEYS];
+    private int next;
+    private MultiRabbitGroups groups;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final MultiRabbitTemplates templates = new MultiRabbitTemplates();
+        final List<String> names = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            names.add("connection" + i);
+            templates.put("connection" + i, new RabbitTemplate());
+        }
+        final MultiRabbitProperties.Group group = new MultiRabbitProperties.Group();
+        group.setMembers(names);
+        groups = new MultiRabbitGroups(templates, Collections.singletonMap(GROUP, group));
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "order-" + i;
+        }
+    }
+
+    @Benchmark
+    public String route() {
+        next = (next + 1) & (KEYS - 1);
+        return groups.route(GROUP, keys[next]);
+    }
+}
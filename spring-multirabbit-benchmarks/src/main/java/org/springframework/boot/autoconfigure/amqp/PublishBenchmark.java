@@ -0,0 +1,161 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.rabbitmq.client.AddressResolver;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.AbstractRoutingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.SimpleRoutingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * Measures a publish end to end, from {@link RabbitTemplate#send(String, String, Message)} to
+ * {@link Channel#basicPublish}, through a {@link CachingConnectionFactory} over a mocked
+ * {@link com.rabbitmq.client.ConnectionFactory}. The publish is routed by the {@link SimpleRoutingConnectionFactory}
+ * and by the {@link MultiRabbitRoutingConnectionFactory}, and sent directly to the target as a baseline.
+ *
+ * @author Wander Costa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublishBenchmark {
+
+    private static final String EXCHANGE = "exchange";
+    private static final String ROUTING_KEY = "routing-key";
+
+    @Param({"1", "10", "100"})
+    private int targets;
+
+    private String[] names;
+    private int next;
+    private final Message message = new Message(new byte[128], new MessageProperties());
+    private final List<CachingConnectionFactory> targetConnectionFactories = new ArrayList<>();
+
+    private RabbitTemplate directTemplate;
+    private RabbitTemplate simpleTemplate;
+    private ConnectionFactoryContextWrapper simpleWrapper;
+    private RabbitTemplate multiRabbitTemplate;
+    private ConnectionFactoryContextWrapper multiRabbitWrapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        names = new String[targets];
+        final Map<Object, ConnectionFactory> targetsByName = new HashMap<>();
+        for (int i = 0; i < targets; i++) {
+            names[i] = "connection" + i;
+            final CachingConnectionFactory target = new CachingConnectionFactory(mockRabbitConnectionFactory());
+            targetConnectionFactories.add(target);
+            targetsByName.put(names[i], target);
+        }
+        directTemplate = new RabbitTemplate(targetConnectionFactories.get(0));
+        final SimpleRoutingConnectionFactory simple = routing(new SimpleRoutingConnectionFactory(), targetsByName);
+        simpleTemplate = new RabbitTemplate(simple);
+        simpleWrapper = new ConnectionFactoryContextWrapper(simple);
+        final MultiRabbitRoutingConnectionFactory multiRabbit
+                = routing(new MultiRabbitRoutingConnectionFactory(), targetsByName);
+        multiRabbitTemplate = new RabbitTemplate(multiRabbit);
+        multiRabbitWrapper = new ConnectionFactoryContextWrapper(multiRabbit);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        targetConnectionFactories.forEach(CachingConnectionFactory::destroy);
+    }
+
+    private <T extends AbstractRoutingConnectionFactory> T routing(final T routingConnectionFactory,
+                                                                   final Map<Object, ConnectionFactory> targetsByName) {
+        routingConnectionFactory.setTargetConnectionFactories(targetsByName);
+        routingConnectionFactory.setDefaultTargetConnectionFactory(targetConnectionFactories.get(0));
+        return routingConnectionFactory;
+    }
+
+    /**
+     * Returns a mock of the client connection factory, whose connections and channels are always open and accept any
+     * publish. The mocks are plain proxies, as mocking libraries record each invocation, which would outweigh the
+     * publish itself.
+     */
+    private static com.rabbitmq.client.ConnectionFactory mockRabbitConnectionFactory() {
+        final Channel channel = mock(Channel.class, null);
+        final Connection connection = mock(Connection.class, channel);
+        return new com.rabbitmq.client.ConnectionFactory() {
+            @Override
+            public Connection newConnection(final ExecutorService executor, final AddressResolver addressResolver,
+                                            final String clientProvidedName) {
+                return connection;
+            }
+        };
+    }
+
+    private static <T> T mock(final Class<T> type, final Channel channel) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            final Class<?> returnType = method.getReturnType();
+            switch (method.getName()) {
+                case "isOpen":
+                    return true;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName();
+                default:
+                    if (returnType == Channel.class) {
+                        return channel;
+                    }
+                    return returnType.isPrimitive() && returnType != void.class
+                            ? Array.get(Array.newInstance(returnType, 1), 0)
+                            : null;
+            }
+        }));
+    }
+
+    private String nextName() {
+        final String name = names[next];
+        next = next + 1 == names.length ? 0 : next + 1;
+        return name;
+    }
+
+    @Benchmark
+    public void direct() {
+        directTemplate.send(EXCHANGE, ROUTING_KEY, message);
+    }
+
+    @Benchmark
+    public void simpleResourceHolder() {
+        simpleWrapper.run(nextName(), () -> simpleTemplate.send(EXCHANGE, ROUTING_KEY, message));
+    }
+
+    @Benchmark
+    public void multiRabbitRoute() {
+        multiRabbitWrapper.run(nextName(), () -> multiRabbitTemplate.send(EXCHANGE, ROUTING_KEY, message));
+    }
+}
@@ -0,0 +1,97 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.rabbit.connection.AbstractRoutingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.SimpleRoutingConnectionFactory;
+
+/**
+ * Measures the routing overhead paid by each publish: binding a connection name, resolving the target connection
+ * factory and unbinding the name. The {@link SimpleRoutingConnectionFactory} binds through
+ * {@link org.springframework.amqp.rabbit.connection.SimpleResourceHolder} and looks up the target by key, while the
+ * {@link MultiRabbitRoutingConnectionFactory} binds a pre-resolved route. The targets are never connected, as
+ * resolving them is all that is measured.
+ *
+ * @author Wander Costa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int targets;
+
+    private String[] names;
+    private int next;
+
+    private ConnectionFactoryContextWrapper simpleWrapper;
+    private Callable<String> simpleCall;
+    private ConnectionFactoryContextWrapper multiRabbitWrapper;
+    private Callable<String> multiRabbitCall;
+    private Map<Object, ConnectionFactory> targetConnectionFactories;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        names = new String[targets];
+        targetConnectionFactories = new HashMap<>();
+        for (int i = 0; i < targets; i++) {
+            names[i] = "connection" + i;
+            targetConnectionFactories.put(names[i], new CachingConnectionFactory("host" + i));
+        }
+        final SimpleRoutingConnectionFactory simple = routing(new SimpleRoutingConnectionFactory());
+        simpleWrapper = new ConnectionFactoryContextWrapper(simple);
+        simpleCall = simple::getHost;
+        final MultiRabbitRoutingConnectionFactory multiRabbit = routing(new MultiRabbitRoutingConnectionFactory());
+        multiRabbitWrapper = new ConnectionFactoryContextWrapper(multiRabbit);
+        multiRabbitCall = multiRabbit::getHost;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        targetConnectionFactories.values().forEach(target -> ((CachingConnectionFactory) target).destroy());
+    }
+
+    private <T extends AbstractRoutingConnectionFactory> T routing(final T routingConnectionFactory) {
+        routingConnectionFactory.setTargetConnectionFactories(targetConnectionFactories);
+        routingConnectionFactory.setDefaultTargetConnectionFactory(targetConnectionFactories.get(names[0]));
+        return routingConnectionFactory;
+    }
+
+    private String nextName() {
+        final String name = names[next];
+        next = next + 1 == names.length ? 0 : next + 1;
+        return name;
+    }
+
+    @Benchmark
+    public String simpleResourceHolder() throws Exception {
+        return simpleWrapper.call(nextName(), simpleCall);
+    }
+
+    @Benchmark
+    public String multiRabbitRoute() throws Exception {
+        return multiRabbitWrapper.call(nextName(), multiRabbitCall);
+    }
+}
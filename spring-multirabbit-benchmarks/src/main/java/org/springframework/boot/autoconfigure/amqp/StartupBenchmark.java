@@ -0,0 +1,53 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+
+/**
+ * Measures the startup of an application context with a number of connections and listeners (see
+ * {@link StartupHarness}). Each invocation boots a new context, which is closed afterwards.
+ *
+ * @author Wander Costa
+ * @see StartupProfiler
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"10", "50"})
+    private int connections;
+
+    @Param({"100", "1000"})
+    private int listeners;
+
+    private ConfigurableApplicationContext context;
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext startup() {
+        context = StartupHarness.start(connections, listeners, ApplicationStartup.DEFAULT);
+        return context;
+    }
+}
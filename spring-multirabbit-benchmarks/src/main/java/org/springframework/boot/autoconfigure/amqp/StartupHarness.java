@@ -0,0 +1,122 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+
+/**
+ * Boots {@link MultiRabbitAutoConfiguration} with a number of synthetic connections under
+ * {@code spring.multirabbitmq.connections} and a number of synthetic {@link RabbitListener}s spread over them, to
+ * measure how the startup scales. The listener containers are not started and no connection is warmed up, so no broker
+ * is ever contacted.
+ *
+ * @author Wander Costa
+ */
+final class StartupHarness {
+
+    static final String CONNECTION_PREFIX = "connection";
+
+    private StartupHarness() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated.");
+    }
+
+    /**
+     * Starts an application context with the synthetic connections and listeners.
+     *
+     * @param connections        The number of connections.
+     * @param listeners          The number of listeners.
+     * @param applicationStartup The {@link ApplicationStartup} recording the steps of the startup.
+     * @return the application context started.
+     */
+    static ConfigurableApplicationContext start(final int connections, final int listeners,
+                                                final ApplicationStartup applicationStartup) {
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put(MultiRabbitConstants.MULTI_RABBIT_ENABLED_PROPERTY, "true");
+        for (int i = 0; i < connections; i++) {
+            properties.put("spring.multirabbitmq.connections." + CONNECTION_PREFIX + i + ".port", 5672 + i);
+        }
+        final SpringApplicationBuilder builder = new SpringApplicationBuilder(HarnessConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(properties)
+                .initializers(context -> {
+                    final GenericApplicationContext genericContext = (GenericApplicationContext) context;
+                    genericContext.registerBean("syntheticConnections", SyntheticConnections.class);
+                    for (int i = 0; i < listeners; i++) {
+                        final String connection = CONNECTION_PREFIX + i % connections;
+                        genericContext.registerBean("syntheticListener" + i, SyntheticListener.class,
+                                () -> new SyntheticListener(connection));
+                    }
+                });
+        builder.application().setApplicationStartup(applicationStartup);
+        return builder.run();
+    }
+
+    /**
+     * The configuration of the harness.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration(MultiRabbitAutoConfiguration.class)
+    static class HarnessConfiguration {
+    }
+
+    /**
+     * Exposes the connection of the listener being initialized, so that the listeners, which share the same
+     * annotation, are spread over all connections.
+     */
+    public static final class SyntheticConnections implements BeanPostProcessor {
+
+        private volatile String current;
+
+        /**
+         * Returns the name of the connection of the listener being initialized.
+         *
+         * @return the name of the connection.
+         */
+        public String current() {
+            return current;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+            if (bean instanceof SyntheticListener) {
+                current = ((SyntheticListener) bean).connection;
+            }
+            return bean;
+        }
+    }
+
+    /**
+     * A listener registered as many times as the number of listeners, for each connection in turn.
+     */
+    public static class SyntheticListener {
+
+        private final String connection;
+
+        SyntheticListener(final String connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Consumes nothing, as the container is not started.
+         *
+         * @param message The message.
+         */
+        @RabbitListener(queues = "synthetic", autoStartup = "false",
+                containerFactory = "#{@syntheticConnections.current()}")
+        public void onMessage(final String message) {
+            // not consumed
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots an application context with a number of connections and listeners (see {@link StartupHarness}), and reports
+ * the time spent in each step of the startup recorded by MultiRabbit, along with the whole refresh of the context:
+ * <ul>
+ *     <li>{@value MultiRabbitConstants#INSTANTIATE_CONNECTIONS_STARTUP_STEP}: the creation of the connection
+ *     factories, container factories and admins;</li>
+ *     <li>{@value MultiRabbitConstants#REGISTER_BEANS_STARTUP_STEP}: the registration of the container factories and
+ *     admins as beans;</li>
+ *     <li>{@value MultiRabbitConstants#PROCESS_LISTENER_STARTUP_STEP}: the processing of each listener by the
+ *     {@link org.springframework.amqp.rabbit.annotation.ExtendedMultiRabbitListenerAnnotationBeanPostProcessor}.</li>
+ * </ul>
+ * Usage: {@code java -cp benchmarks.jar org.springframework.boot.autoconfigure.amqp.StartupProfiler [connections]
+ * [listeners] [runs]}. The first runs warm up the JVM, and only the last one is reported.
+ *
+ * @author Wander Costa
+ */
+public final class StartupProfiler {
+
+    private static final int DEFAULT_CONNECTIONS = 50;
+    private static final int DEFAULT_LISTENERS = 2000;
+    private static final int DEFAULT_RUNS = 5;
+    private static final int BUFFER_CAPACITY = 1_000_000;
+    private static final String REFRESH_STEP = "spring.context.refresh";
+
+    private StartupProfiler() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated.");
+    }
+
+    /**
+     * Runs the profiler.
+     *
+     * @param args The number of connections, listeners and runs, optionally.
+     */
+    public static void main(final String[] args) {
+        final int connections = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CONNECTIONS;
+        final int listeners = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_LISTENERS;
+        final int runs = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_RUNS;
+
+        Map<String, Step> steps = null;
+        for (int run = 0; run < runs; run++) {
+            final BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(BUFFER_CAPACITY);
+            try (ConfigurableApplicationContext context
+                         = StartupHarness.start(connections, listeners, applicationStartup)) {
+                steps = aggregate(applicationStartup.getBufferedTimeline());
+            }
+        }
+
+        System.out.printf("%d connections, %d listeners%n", connections, listeners);
+        System.out.printf("%-40s %8s %12s%n", "step", "count", "total (ms)");
+        steps.forEach((name, step) -> System.out.printf("%-40s %8d %12.1f%n", name, step.count,
+                step.duration.toNanos() / 1_000_000.0));
+    }
+
+    private static Map<String, Step> aggregate(final StartupTimeline timeline) {
+        final Map<String, Step> steps = new TreeMap<>();
+        timeline.getEvents().forEach(event -> {
+            final String name = event.getStartupStep().getName();
+            if (name.startsWith("multirabbit.") || name.equals(REFRESH_STEP)) {
+                final Step step = steps.computeIfAbsent(name, key -> new Step());
+                step.count++;
+                step.duration = step.duration.plus(event.getDuration());
+            }
+        });
+        return steps;
+    }
+
+    /**
+     * The aggregated occurrences of a step.
+     */
+    private static final class Step {
+
+        private int count;
+        private Duration duration = Duration.ZERO;
+    }
+}
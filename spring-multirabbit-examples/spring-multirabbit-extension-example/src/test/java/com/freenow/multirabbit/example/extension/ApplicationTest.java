@@ -59,9 +59,18 @@ class ApplicationTest {
         List<String> beans = Arrays.asList(applicationContext.getBeanNamesForType(RabbitAdmin.class));
         Assertions.assertThat(beans).contains(
                 MultiRabbitConstants.DEFAULT_RABBIT_ADMIN_BEAN_NAME,
-                EXTENDED_CONNECTION_A + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX,
-                EXTENDED_CONNECTION_B + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX,
-                EXTENDED_CONNECTION_C + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX);
+                EXTENDED_CONNECTION_B + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX);
         beans.forEach(bean -> assertNotNull(applicationContext.getBean(bean, RabbitAdmin.class)));
     }
+
+    @Test
+    void shouldRegisterSharedRabbitAdminOnce() {
+        final String adminA = EXTENDED_CONNECTION_A + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX;
+        final String adminC = EXTENDED_CONNECTION_C + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX;
+        final List<String> beans = Arrays.asList(applicationContext.getBeanNamesForType(RabbitAdmin.class));
+        Assertions.assertThat(applicationContext.getBean(adminC, RabbitAdmin.class))
+                .isSameAs(applicationContext.getBean(adminA, RabbitAdmin.class));
+        Assertions.assertThat(beans).containsAnyOf(adminA, adminC);
+        Assertions.assertThat(beans.contains(adminA)).isNotEqualTo(beans.contains(adminC));
+    }
 }
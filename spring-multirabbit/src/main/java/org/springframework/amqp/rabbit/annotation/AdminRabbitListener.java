@@ -0,0 +1,116 @@
+package org.springframework.amqp.rabbit.annotation;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Creates a copy of a {@link RabbitListener} with a replacing admin() attribute, and also replacing id() and
+ * containerFactory() for the listeners of a member of a group. The attributes of the original annotation are read
+ * once into a map, whatever the version of spring-rabbit, and the copy serves each read from the map, so that the many
+ * reads of the attributes while processing the listener are neither reflective calls nor copies of arrays. The arrays
+ * are shared with the copy for that reason, and must not be modified.
+ *
+ * @author Wander Costa
+ */
+final class AdminRabbitListener implements InvocationHandler {
+
+    private static final Method[] ATTRIBUTES = RabbitListener.class.getDeclaredMethods();
+    private static final Class<?>[] INTERFACES = {RabbitListener.class};
+
+    private final Map<String, Object> attributes;
+
+    private AdminRabbitListener(final Map<String, Object> attributes) {
+        this.attributes = attributes;
+    }
+
+    /**
+     * Returns a copy of the listener with the given admin.
+     *
+     * @param rabbitListener The original listener.
+     * @param admin          The name of the admin replacing the one of the original listener.
+     * @return the copy of the listener.
+     */
+    static RabbitListener of(final RabbitListener rabbitListener, final String admin) {
+        return of(rabbitListener, rabbitListener.id(), rabbitListener.containerFactory(), admin);
+    }
+
+    /**
+     * Returns a copy of the listener with the given id, container factory and admin.
+     *
+     * @param rabbitListener   The original listener.
+     * @param id               The id replacing the one of the original listener.
+     * @param containerFactory The container factory replacing the one of the original listener.
+     * @param admin            The name of the admin replacing the one of the original listener.
+     * @return the copy of the listener.
+     */
+    static RabbitListener of(final RabbitListener rabbitListener,
+                             final String id,
+                             final String containerFactory,
+                             final String admin) {
+        final Map<String, Object> attributes = new HashMap<>(ATTRIBUTES.length * 2);
+        for (Method attribute : ATTRIBUTES) {
+            attributes.put(attribute.getName(), ReflectionUtils.invokeMethod(attribute, rabbitListener));
+        }
+        attributes.put("id", id);
+        attributes.put("containerFactory", containerFactory);
+        attributes.put("admin", admin);
+        return (RabbitListener) Proxy.newProxyInstance(RabbitListener.class.getClassLoader(), INTERFACES,
+                new AdminRabbitListener(attributes));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        final Object value = attributes.get(method.getName());
+        if (value != null && method.getParameterCount() == 0) {
+            return value;
+        }
+        switch (method.getName()) {
+            case "annotationType":
+                return RabbitListener.class;
+            case "equals":
+                return isEqualTo(args[0]);
+            case "hashCode":
+                return annotationHashCode();
+            case "toString":
+                return "@" + RabbitListener.class.getName() + attributes;
+            default:
+                throw new IllegalStateException("Unexpected method " + method);
+        }
+    }
+
+    private boolean isEqualTo(final Object other) {
+        if (!(other instanceof RabbitListener)) {
+            return false;
+        }
+        for (Method attribute : ATTRIBUTES) {
+            final Object value = attributes.get(attribute.getName());
+            final Object otherValue = ReflectionUtils.invokeMethod(attribute, other);
+            if (!Arrays.deepEquals(new Object[]{value}, new Object[]{otherValue})) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code as defined by {@link java.lang.annotation.Annotation#hashCode()}, so that it matches the
+     * one of an equal annotation.
+     */
+    private int annotationHashCode() {
+        int hashCode = 0;
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            final Object value = attribute.getValue();
+            final int valueHashCode = value instanceof Object[]
+                    ? Arrays.hashCode((Object[]) value)
+                    : value.hashCode();
+            hashCode += (127 * attribute.getKey().hashCode()) ^ valueHashCode;
+        }
+        return hashCode;
+    }
+}
@@ -1,12 +1,23 @@
 package org.springframework.amqp.rabbit.annotation;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import org.springframework.amqp.core.Declarable;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.autoconfigure.amqp.MultiRabbitConstants;
+import org.springframework.boot.autoconfigure.amqp.MultiRabbitProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.SimpleAliasRegistry;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -21,6 +32,10 @@ import org.springframework.util.StringUtils;
  * This class is being being deprecated in spring-amqp v2.3.5 in favor of
  * {@link org.springframework.amqp.rabbit.annotation.MultiRabbitListenerAnnotationBeanPostProcessor}. For compatibility
  * with the current state of the class mentioned, this one is renamed.
+ * <p>
+ * A listener whose containerFactory is {@code group:<name>} consumes from all members of the group
+ * {@code spring.multirabbitmq.groups.<name>}: it is processed once per member, with the container factory and the
+ * admin of the member, and an id suffixed with the name of the member, if set.
  *
  * @author Wander Costa
  * @see RabbitListenerAnnotationBeanPostProcessor
@@ -28,6 +43,10 @@ import org.springframework.util.StringUtils;
 public final class ExtendedMultiRabbitListenerAnnotationBeanPostProcessor
         extends RabbitListenerAnnotationBeanPostProcessor {
 
+    private BeanFactory beanFactory;
+    private Environment environment;
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
     /**
      * Injecting multiRabbitConnectionFactory bean to make sure
      * {@link org.springframework.boot.autoconfigure.amqp.MultiRabbitAutoConfiguration} is completely initialized
@@ -42,47 +61,128 @@ public final class ExtendedMultiRabbitListenerAnnotationBeanPostProcessor
         Assert.state(multiRabbitConnectionFactory != null, "multiRabbitConnectionFactory must be available");
     }
 
+    @Override
+    public void setBeanFactory(final BeanFactory beanFactory) {
+        super.setBeanFactory(beanFactory);
+        this.beanFactory = beanFactory;
+        if (beanFactory instanceof ConfigurableBeanFactory) {
+            this.applicationStartup = ((ConfigurableBeanFactory) beanFactory).getApplicationStartup();
+        }
+    }
+
+    @Override
+    public void setEnvironment(final Environment environment) {
+        super.setEnvironment(environment);
+        this.environment = environment;
+    }
+
     @Override
     protected Collection<Declarable> processAmqpListener(final RabbitListener rabbitListener,
                                                          final Method method,
                                                          final Object bean,
                                                          final String beanName) {
-        final String rabbitAdmin = RabbitAdminNameResolver.resolve(rabbitListener);
-        final RabbitListener rabbitListenerRef = proxyIfAdminNotPresent(rabbitListener, rabbitAdmin);
-        final Collection<Declarable> declarables = super.processAmqpListener(rabbitListenerRef, method, bean, beanName);
-        declarables.forEach(declarable -> declarable.setAdminsThatShouldDeclare(rabbitAdmin));
+        final String groupName = resolveGroupName(rabbitListener);
+        if (groupName != null) {
+            return processGroupListener(groupName, rabbitListener, method, bean, beanName);
+        }
+        final String rabbitAdmin = canonicalName(RabbitAdminNameResolver.resolve(rabbitListener));
+        return processWithAdmin(replaceAdminIfNotPresent(rabbitListener, rabbitAdmin), rabbitAdmin, method, bean,
+                beanName);
+    }
+
+    /**
+     * Processes the listener once for each member of the group, so that each member has its own container for the
+     * endpoint, and declares the queues, exchanges and bindings of the listener on its own admin.
+     */
+    private Collection<Declarable> processGroupListener(final String groupName,
+                                                        final RabbitListener rabbitListener,
+                                                        final Method method,
+                                                        final Object bean,
+                                                        final String beanName) {
+        final List<Declarable> declarables = new ArrayList<>();
+        for (String member : resolveGroupMembers(groupName)) {
+            final String rabbitAdmin = canonicalName(member + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX);
+            final String id = StringUtils.hasText(rabbitListener.id()) ? rabbitListener.id() + "-" + member : "";
+            declarables.addAll(processWithAdmin(AdminRabbitListener.of(rabbitListener, id, member, rabbitAdmin),
+                    rabbitAdmin, method, bean, beanName));
+        }
         return declarables;
     }
 
-    private RabbitListener proxyIfAdminNotPresent(final RabbitListener rabbitListener, final String rabbitAdmin) {
-        if (StringUtils.hasText(rabbitListener.admin())) {
-            return rabbitListener;
+    private Collection<Declarable> processWithAdmin(final RabbitListener rabbitListenerRef,
+                                                    final String rabbitAdmin,
+                                                    final Method method,
+                                                    final Object bean,
+                                                    final String beanName) {
+        final StartupStep step = applicationStartup.start(MultiRabbitConstants.PROCESS_LISTENER_STARTUP_STEP)
+                .tag("beanName", beanName)
+                .tag("admin", rabbitAdmin);
+        try {
+            final Collection<Declarable> declarables
+                    = super.processAmqpListener(rabbitListenerRef, method, bean, beanName);
+            declarables.forEach(declarable -> declarable.setAdminsThatShouldDeclare(rabbitAdmin));
+            return declarables;
+        } finally {
+            step.end();
         }
-        return (RabbitListener) Proxy.newProxyInstance(
-                RabbitListener.class.getClassLoader(), new Class<?>[]{RabbitListener.class},
-                new RabbitListenerAdminReplacementInvocationHandler(rabbitListener, rabbitAdmin));
     }
 
     /**
-     * An {@link InvocationHandler} to provide a replacing admin() parameter of the listener.
+     * Returns the name of the group of the listener, if its container factory, with placeholders resolved, has the
+     * group prefix, or null otherwise.
      */
-    private final class RabbitListenerAdminReplacementInvocationHandler implements InvocationHandler {
-
-        private final RabbitListener target;
-        private final String admin;
+    private String resolveGroupName(final RabbitListener rabbitListener) {
+        String containerFactory = rabbitListener.containerFactory();
+        if (!StringUtils.hasText(containerFactory)) {
+            return null;
+        }
+        if (beanFactory instanceof ConfigurableBeanFactory) {
+            containerFactory = ((ConfigurableBeanFactory) beanFactory).resolveEmbeddedValue(containerFactory);
+        }
+        final String prefix = MultiRabbitConstants.GROUP_CONTAINER_FACTORY_PREFIX;
+        return containerFactory != null && containerFactory.startsWith(prefix)
+                ? containerFactory.substring(prefix.length())
+                : null;
+    }
 
-        private RabbitListenerAdminReplacementInvocationHandler(final RabbitListener target, final String admin) {
-            this.target = target;
-            this.admin = admin;
+    /**
+     * Binds the members of the group from the configuration, since the listeners are processed before the beans of
+     * the connections, and so of the groups, are available.
+     */
+    private List<String> resolveGroupMembers(final String groupName) {
+        final Map<String, MultiRabbitProperties.Group> groups = environment == null
+                ? Collections.emptyMap()
+                : Binder.get(environment).bind(MultiRabbitConstants.MULTI_RABBIT_GROUPS_PROPERTY,
+                        Bindable.mapOf(String.class, MultiRabbitProperties.Group.class))
+                .orElse(Collections.emptyMap());
+        final MultiRabbitProperties.Group group = groups.get(groupName);
+        if (group == null) {
+            throw new IllegalArgumentException(
+                    String.format("MultiRabbitMQ group '%s' does not exist in configuration", groupName));
         }
+        if (group.getMembers() == null || group.getMembers().isEmpty()) {
+            throw new IllegalArgumentException(String.format("MultiRabbitMQ group '%s' has no members", groupName));
+        }
+        return group.getMembers();
+    }
 
-        @Override
-        public Object invoke(final Object proxy, final Method method, final Object[] args)
-                throws InvocationTargetException, IllegalAccessException {
-            if (method.getName().equals("admin")) {
-                return this.admin;
-            }
-            return method.invoke(this.target, args);
+    /**
+     * Resolves the aliases of admins shared by several connections to the name they are registered with, which is the
+     * one they declare for.
+     */
+    private String canonicalName(final String rabbitAdmin) {
+        return beanFactory instanceof SimpleAliasRegistry
+                ? ((SimpleAliasRegistry) beanFactory).canonicalName(rabbitAdmin)
+                : rabbitAdmin;
+    }
+
+    /**
+     * Returns the listener with the admin replaced, if none is set.
+     */
+    private RabbitListener replaceAdminIfNotPresent(final RabbitListener rabbitListener, final String rabbitAdmin) {
+        if (StringUtils.hasText(rabbitListener.admin())) {
+            return rabbitListener;
         }
+        return AdminRabbitListener.of(rabbitListener, rabbitAdmin);
     }
 }
@@ -0,0 +1,373 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.DeclarableCustomizer;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Exchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.RabbitUtils;
+import org.springframework.amqp.rabbit.core.DeclarationExceptionEvent;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.context.ApplicationContext;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link RabbitAdmin} that declares the Exchanges, Queues and Bindings of the context in batches. The declarations
+ * of each kind are split over a few channels of the connection, processed concurrently by the broker, and each
+ * channel pipelines them without waiting for the reply of each one, waiting only once at the end. Exchanges are
+ * declared before Queues, and Queues before Bindings.
+ * <p>
+ * When a batch fails, its items are declared again one by one, as {@link RabbitAdmin} does, so that failures are
+ * reported (or ignored) for the specific item. Queues with broker-generated names are always declared one by one. The
+ * admins that redeclare manual declarations fall back to the declaration of {@link RabbitAdmin}.
+ * <p>
+ * Optionally, the declarations are cached to reduce the load on the broker when connections are re-established. See
+ * {@link #setDeclarationCache(boolean)}.
+ *
+ * @author Wander Costa
+ */
+public class BatchingRabbitAdmin extends RabbitAdmin {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingRabbitAdmin.class);
+    private static final String DELAYED_MESSAGE_EXCHANGE = "x-delayed-message";
+    private static final String BARRIER_EXCHANGE = "amq.direct";
+
+    private final int channels;
+    private ApplicationContext applicationContext;
+    private boolean explicitDeclarationsOnly;
+    private boolean declarationCache;
+    private volatile List<String> lastDeclaredDefinitions;
+    private volatile long lastDeclarationMillis = -1;
+
+    /**
+     * Creates a new BatchingRabbitAdmin.
+     *
+     * @param connectionFactory The {@link ConnectionFactory} to declare on.
+     * @param channels          The number of channels declaring in parallel.
+     */
+    public BatchingRabbitAdmin(final ConnectionFactory connectionFactory, final int channels) {
+        super(connectionFactory);
+        this.channels = Math.max(1, channels);
+    }
+
+    @Override
+    public void setApplicationContext(final ApplicationContext applicationContext) {
+        super.setApplicationContext(applicationContext);
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void setExplicitDeclarationsOnly(final boolean explicitDeclarationsOnly) {
+        super.setExplicitDeclarationsOnly(explicitDeclarationsOnly);
+        this.explicitDeclarationsOnly = explicitDeclarationsOnly;
+    }
+
+    /**
+     * Enables the cache of declarations. When the declarables are the same as the last time they were all declared
+     * successfully, only the exchanges and queues missing in the broker (checked with passive declarations pipelined
+     * in batches) are declared again. The bindings are always declared again, since they cannot be checked passively,
+     * and their declaration is idempotent.
+     *
+     * @param declarationCache Whether to enable the cache of declarations.
+     */
+    public void setDeclarationCache(final boolean declarationCache) {
+        this.declarationCache = declarationCache;
+    }
+
+    /**
+     * Returns the time taken by the last declaration of the Exchanges, Queues and Bindings of the context.
+     *
+     * @return the time in milliseconds, or -1 if they were not declared yet.
+     */
+    public long getLastDeclarationMillis() {
+        return lastDeclarationMillis;
+    }
+
+    @Override
+    public void initialize() {
+        if (applicationContext == null || isRedeclareManualDeclarations()) {
+            super.initialize();
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        final Collection<DeclarableCustomizer> customizers
+                = applicationContext.getBeansOfType(DeclarableCustomizer.class).values();
+        final List<Declarable> declarables = contextDeclarables();
+        List<Exchange> exchanges = filter(declarables, Exchange.class, customizers);
+        List<Queue> queues = filter(declarables, Queue.class, customizers);
+        List<Binding> bindings = filter(declarables, Binding.class, customizers);
+
+        final List<String> definitions = declarationCache ? definitions(exchanges, queues, bindings) : null;
+        if (definitions != null && definitions.equals(lastDeclaredDefinitions)) {
+            exchanges = missing(exchanges, exchange -> !RabbitAdmin.DEFAULT_EXCHANGE_NAME.equals(exchange.getName()),
+                    BatchingRabbitAdmin::declareExchangePassiveNoWait);
+            queues = missing(queues, queue -> StringUtils.hasText(queue.getName())
+                            && !queue.getName().startsWith("amq."),
+                    BatchingRabbitAdmin::declareQueuePassiveNoWait);
+        }
+        lastDeclaredDefinitions = null;
+
+        final DeclarationExceptionEvent lastFailure = getLastDeclarationExceptionEvent();
+        declareInBatches(exchanges, this::declareExchangeNoWait, this::declareExchange);
+        declareInBatches(queues.stream().filter(queue -> StringUtils.hasText(queue.getName()))
+                .collect(Collectors.toList()), this::declareQueueNoWait, this::declareQueue);
+        queues.stream().filter(queue -> !StringUtils.hasText(queue.getName())).forEach(this::declareQueue);
+        declareInBatches(bindings, this::declareBindingNoWait, this::declareBinding);
+        // a failure ignored by the admin must be retried on the next declaration, so it is not cached
+        if (getLastDeclarationExceptionEvent() == lastFailure) {
+            lastDeclaredDefinitions = definitions;
+        }
+
+        lastDeclarationMillis = System.currentTimeMillis() - start;
+        LOGGER.info("Declared {} exchanges, {} queues and {} bindings with admin '{}' in {} ms", exchanges.size(),
+                queues.size(), bindings.size(), getBeanName(), lastDeclarationMillis);
+    }
+
+    /**
+     * Returns the sorted definitions of the declarables, which change if any of them is added, removed or changed.
+     * Queues with broker-generated names are not part of them, since they are always declared.
+     */
+    private static List<String> definitions(final List<Exchange> exchanges,
+                                            final List<Queue> queues,
+                                            final List<Binding> bindings) {
+        final List<String> definitions = new ArrayList<>();
+        exchanges.forEach(exchange -> definitions.add(String.join("|", "exchange", exchange.getName(),
+                exchange.getType(), String.valueOf(exchange.isDurable()), String.valueOf(exchange.isAutoDelete()),
+                String.valueOf(exchange.isInternal()), String.valueOf(exchange.isDelayed()),
+                String.valueOf(exchange.getArguments()))));
+        queues.stream().filter(queue -> StringUtils.hasText(queue.getName()))
+                .forEach(queue -> definitions.add(String.join("|", "queue", queue.getName(),
+                        String.valueOf(queue.isDurable()), String.valueOf(queue.isExclusive()),
+                        String.valueOf(queue.isAutoDelete()), String.valueOf(queue.getArguments()))));
+        bindings.forEach(binding -> definitions.add(String.join("|", "binding", binding.getDestination(),
+                String.valueOf(binding.getDestinationType()), binding.getExchange(), binding.getRoutingKey(),
+                String.valueOf(binding.getArguments()))));
+        Collections.sort(definitions);
+        return definitions;
+    }
+
+    /**
+     * Returns the declarables missing in the broker, checked with passive declarations pipelined in batches. A passive
+     * declaration of a missing item closes its channel, so the whole batch is considered missing, and declared again
+     * along with the items that cannot be checked.
+     */
+    private <T extends Declarable> List<T> missing(final List<T> declarables,
+                                                   final Predicate<T> checkable,
+                                                   final ChannelDeclaration<T> passiveDeclaration) {
+        final List<T> missing = new ArrayList<>();
+        final List<T> checked = new ArrayList<>();
+        for (T declarable : declarables) {
+            (checkable.test(declarable) ? checked : missing).add(declarable);
+        }
+        pipelineInBatches(checked, passiveDeclaration).forEach(missing::addAll);
+        return missing;
+    }
+
+    /**
+     * Returns the Exchanges, Queues and Bindings of the context, including those within {@link Declarables}.
+     */
+    private List<Declarable> contextDeclarables() {
+        final List<Declarable> declarables = new ArrayList<>();
+        declarables.addAll(applicationContext.getBeansOfType(Exchange.class).values());
+        declarables.addAll(applicationContext.getBeansOfType(Queue.class).values());
+        declarables.addAll(applicationContext.getBeansOfType(Binding.class).values());
+        applicationContext.getBeansOfType(Declarables.class, false, true).values()
+                .forEach(group -> declarables.addAll(group.getDeclarables()));
+        return declarables;
+    }
+
+    /**
+     * Returns the declarables of the given type to be declared by this admin, after applying the customizers.
+     */
+    private <T extends Declarable> List<T> filter(final List<Declarable> declarables,
+                                                  final Class<T> type,
+                                                  final Collection<DeclarableCustomizer> customizers) {
+        final List<T> filtered = new ArrayList<>();
+        for (Declarable declarable : declarables) {
+            if (type.isInstance(declarable) && declarable.shouldDeclare() && isDeclarableByMe(declarable)) {
+                Declarable customized = declarable;
+                for (DeclarableCustomizer customizer : customizers) {
+                    customized = customizer.apply(customized);
+                }
+                filtered.add(type.cast(customized));
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Returns whether the declarable is to be declared by this admin, with the same criteria of {@link RabbitAdmin}.
+     */
+    private boolean isDeclarableByMe(final Declarable declarable) {
+        final Collection<?> admins = declarable.getDeclaringAdmins();
+        return admins.isEmpty() && !explicitDeclarationsOnly
+                || admins.contains(this)
+                || getBeanName() != null && admins.contains(getBeanName());
+    }
+
+    /**
+     * Splits the declarables over the channels and pipelines each batch on its own channel, declaring the items of a
+     * failed batch again one by one.
+     */
+    private <T extends Declarable> void declareInBatches(final List<T> declarables,
+                                                         final ChannelDeclaration<T> declaration,
+                                                         final Consumer<T> fallback) {
+        pipelineInBatches(declarables, declaration).forEach(batch -> {
+            LOGGER.debug("Failed to declare a batch with admin '{}', declaring one by one", getBeanName());
+            batch.forEach(fallback);
+        });
+    }
+
+    /**
+     * Splits the declarables over channels of the connection and pipelines each batch on its own channel, followed by
+     * a passive declaration of a barrier exchange, whose reply means the broker processed the whole batch. All
+     * batches are written before waiting for any barrier, so the broker processes them concurrently.
+     * <p>
+     * Everything runs on the calling thread, since the admin is initialized by a listener of the connection factory,
+     * which holds the lock of the connection while notifying it: opening channels from other threads would block.
+     *
+     * @return the batches that failed.
+     */
+    private <T extends Declarable> List<List<T>> pipelineInBatches(final List<T> declarables,
+                                                                   final ChannelDeclaration<T> declaration) {
+        if (declarables.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final int batches = Math.min(channels, declarables.size());
+        final List<List<T>> partitions = new ArrayList<>(batches);
+        for (int i = 0; i < batches; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < declarables.size(); i++) {
+            partitions.get(i % batches).add(declarables.get(i));
+        }
+        final List<List<T>> failed = new ArrayList<>();
+        final List<Channel> opened = new ArrayList<>(batches);
+        final Connection connection = getRabbitTemplate().getConnectionFactory().createConnection();
+        try {
+            for (List<T> partition : partitions) {
+                opened.add(write(connection, partition, declaration));
+            }
+            for (int i = 0; i < batches; i++) {
+                if (opened.get(i) == null || !awaitBarrier(opened.get(i))) {
+                    failed.add(partitions.get(i));
+                }
+            }
+        } finally {
+            opened.forEach(RabbitUtils::closeChannel);
+            RabbitUtils.closeConnection(connection);
+        }
+        return failed;
+    }
+
+    /**
+     * Writes the declarations of a batch on a new channel, without waiting for the broker.
+     *
+     * @return the channel, or null if the batch could not be written.
+     */
+    private <T extends Declarable> Channel write(final Connection connection,
+                                                 final List<T> batch,
+                                                 final ChannelDeclaration<T> declaration) {
+        Channel channel = null;
+        try {
+            channel = connection.createChannel(false);
+            for (T declarable : batch) {
+                declaration.declare(channel, declarable);
+            }
+            return channel;
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.debug("Failed to write a batch with admin '{}'", getBeanName(), ex);
+            RabbitUtils.closeChannel(channel);
+            return null;
+        }
+    }
+
+    private boolean awaitBarrier(final Channel channel) {
+        try {
+            channel.exchangeDeclarePassive(BARRIER_EXCHANGE);
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.debug("Failed to process a batch with admin '{}'", getBeanName(), ex);
+            return false;
+        }
+    }
+
+    private static void declareExchangePassiveNoWait(final Channel channel, final Exchange exchange)
+            throws IOException {
+        channel.asyncRpc(new AMQP.Exchange.Declare.Builder().exchange(exchange.getName())
+                .passive(true).nowait(true).build());
+    }
+
+    private static void declareQueuePassiveNoWait(final Channel channel, final Queue queue) throws IOException {
+        channel.asyncRpc(new AMQP.Queue.Declare.Builder().queue(queue.getName()).passive(true).nowait(true).build());
+    }
+
+    private void declareExchangeNoWait(final Channel channel, final Exchange exchange) throws IOException {
+        if (RabbitAdmin.DEFAULT_EXCHANGE_NAME.equals(exchange.getName())) {
+            return;
+        }
+        if (exchange.isDelayed()) {
+            final Map<String, Object> arguments = exchange.getArguments() != null
+                    ? new HashMap<>(exchange.getArguments())
+                    : new HashMap<>();
+            arguments.put("x-delayed-type", exchange.getType());
+            channel.exchangeDeclareNoWait(exchange.getName(), DELAYED_MESSAGE_EXCHANGE, exchange.isDurable(),
+                    exchange.isAutoDelete(), exchange.isInternal(), arguments);
+        } else {
+            channel.exchangeDeclareNoWait(exchange.getName(), exchange.getType(), exchange.isDurable(),
+                    exchange.isAutoDelete(), exchange.isInternal(), exchange.getArguments());
+        }
+    }
+
+    private void declareQueueNoWait(final Channel channel, final Queue queue) throws IOException {
+        if (queue.getName().startsWith("amq.")) {
+            return;
+        }
+        channel.queueDeclareNoWait(queue.getName(), queue.isDurable(), queue.isExclusive(), queue.isAutoDelete(),
+                queue.getArguments());
+    }
+
+    private void declareBindingNoWait(final Channel channel, final Binding binding) throws IOException {
+        if (binding.isDestinationQueue()) {
+            if (RabbitAdmin.DEFAULT_EXCHANGE_NAME.equals(binding.getExchange())
+                    && binding.getDestination().equals(binding.getRoutingKey())) {
+                return;
+            }
+            channel.queueBindNoWait(binding.getDestination(), binding.getExchange(), binding.getRoutingKey(),
+                    binding.getArguments());
+        } else {
+            channel.exchangeBindNoWait(binding.getDestination(), binding.getExchange(), binding.getRoutingKey(),
+                    binding.getArguments());
+        }
+    }
+
+    /**
+     * The declaration of an item on a channel.
+     *
+     * @param <T> The type of the item.
+     */
+    @FunctionalInterface
+    private interface ChannelDeclaration<T> {
+
+        void declare(Channel channel, T declarable) throws IOException;
+    }
+}
@@ -4,11 +4,19 @@ import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.connection.SimpleResourceHolder;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import static org.springframework.util.StringUtils.hasText;
 
 /**
  * Helper class to handle ConnectionFactory context binding and unbinding when executing instructions.
+ * <p>
+ * When the {@link ConnectionFactory} is a {@link MultiRabbitRoutingConnectionFactory}, the context is kept in its
+ * thread-local slot, which allows nested calls and avoids allocations per binding. This context takes precedence over
+ * a key bound with {@link SimpleResourceHolder} within the call, so nested calls should use this wrapper too.
+ * Otherwise, the context is bound with {@link SimpleResourceHolder}.
  */
 public class ConnectionFactoryContextWrapper {
 
@@ -45,11 +53,14 @@ public class ConnectionFactoryContextWrapper {
      * @throws Exception when an Exception is thrown by the {@link Callable}.
      */
     public <T> T call(final String contextName, final Callable<T> callable) throws Exception {
+        if (!hasText(contextName)) {
+            return callable.call();
+        }
+        final Object previousContext = bind(contextName);
         try {
-            bind(contextName);
             return callable.call();
         } finally {
-            unbind(contextName);
+            unbind(previousContext);
         }
     }
 
@@ -71,28 +82,107 @@ public class ConnectionFactoryContextWrapper {
      * @throws RuntimeException when a RuntimeException is thrown by the {@link Runnable}.
      */
     public void run(final String contextName, final Runnable runnable) {
+        if (!hasText(contextName)) {
+            runnable.run();
+            return;
+        }
+        final Object previousContext = bind(contextName);
         try {
-            bind(contextName);
             runnable.run();
         } finally {
-            unbind(contextName);
+            unbind(previousContext);
+        }
+    }
+
+    /**
+     * Executes a {@link Callable} with the given {@link Executor}, binding the given {@link ConnectionFactory} on the
+     * executing thread and finally unbinding it there.
+     *
+     * @param contextName the name of the context. In null, empty or blank, default context is bound.
+     * @param callable    the {@link Callable} object to be executed.
+     * @param executor    the {@link Executor} executing the {@link Callable}.
+     * @param <T>         the return type.
+     * @return the {@link CompletableFuture} of the result of the {@link Callable}, completed exceptionally with the
+     * Exception or Error thrown by the {@link Callable}.
+     */
+    public <T> CompletableFuture<T> callAsync(final String contextName,
+                                              final Callable<T> callable,
+                                              final Executor executor) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(call(contextName, callable));
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Executes a {@link Supplier} with the given {@link Executor}, binding the given {@link ConnectionFactory} on the
+     * executing thread and finally unbinding it there.
+     *
+     * @param contextName the name of the context. In null, empty or blank, default context is bound.
+     * @param supplier    the {@link Supplier} object to be executed.
+     * @param executor    the {@link Executor} executing the {@link Supplier}.
+     * @param <T>         the return type.
+     * @return the {@link CompletableFuture} of the result of the {@link Supplier}.
+     */
+    public <T> CompletableFuture<T> supplyAsync(final String contextName,
+                                                final Supplier<T> supplier,
+                                                final Executor executor) {
+        return CompletableFuture.supplyAsync(() -> supply(contextName, supplier), executor);
+    }
+
+    /**
+     * Executes a {@link Runnable} with the given {@link Executor}, binding the given {@link ConnectionFactory} on the
+     * executing thread and finally unbinding it there.
+     *
+     * @param contextName the name of the context. In null, empty or blank, default context is bound.
+     * @param runnable    the {@link Runnable} object to be executed.
+     * @param executor    the {@link Executor} executing the {@link Runnable}.
+     * @return the {@link CompletableFuture} completed once the {@link Runnable} is executed.
+     */
+    public CompletableFuture<Void> runAsync(final String contextName,
+                                            final Runnable runnable,
+                                            final Executor executor) {
+        return CompletableFuture.runAsync(() -> run(contextName, runnable), executor);
+    }
+
+    /**
+     * Executes a {@link Supplier} binding the given context and finally unbinding it.
+     */
+    private <T> T supply(final String contextName, final Supplier<T> supplier) {
+        if (!hasText(contextName)) {
+            return supplier.get();
+        }
+        final Object previousContext = bind(contextName);
+        try {
+            return supplier.get();
+        } finally {
+            unbind(previousContext);
         }
     }
 
     /**
-     * Binds the context.
+     * Binds the context, returning the one previously bound (if any).
      */
-    private void bind(final String contextName) {
-        if (hasText(contextName)) {
-            SimpleResourceHolder.bind(connectionFactory, contextName);
+    private Object bind(final String contextName) {
+        if (connectionFactory instanceof MultiRabbitRoutingConnectionFactory) {
+            return ((MultiRabbitRoutingConnectionFactory) connectionFactory).bind(contextName);
         }
+        SimpleResourceHolder.bind(connectionFactory, contextName);
+        return null;
     }
 
     /**
-     * Unbinds the context.
+     * Unbinds the context, restoring the one previously bound (if any).
      */
-    private void unbind(final String contextName) {
-        if (hasText(contextName)) {
+    private void unbind(final Object previousContext) {
+        if (connectionFactory instanceof MultiRabbitRoutingConnectionFactory) {
+            ((MultiRabbitRoutingConnectionFactory) connectionFactory).restore(previousContext);
+        } else {
             SimpleResourceHolder.unbind(connectionFactory);
         }
     }
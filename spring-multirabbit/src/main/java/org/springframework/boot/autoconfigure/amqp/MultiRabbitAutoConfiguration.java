@@ -4,37 +4,74 @@ import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.impl.CredentialsProvider;
 import com.rabbitmq.client.impl.CredentialsRefreshService;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.MultiRabbitListenerConfigurationSelector;
 import org.springframework.amqp.rabbit.config.AbstractRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.DirectRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionNameStrategy;
-import org.springframework.amqp.rabbit.connection.SimpleRoutingConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration.RabbitConnectionFactoryCreator;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.AliasRegistry;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 import static org.springframework.boot.autoconfigure.amqp.MultiRabbitConstants.RABBIT_ADMIN_SUFFIX;
@@ -70,19 +107,42 @@ public class MultiRabbitAutoConfiguration {
     @Configuration
     @DependsOn(MultiRabbitConstants.CONNECTION_FACTORY_CREATOR_BEAN_NAME)
     @ConditionalOnProperty(prefix = "spring.multirabbitmq", name = "enabled", havingValue = "true")
-    protected static class MultiRabbitConnectionFactoryCreator implements BeanFactoryAware, ApplicationContextAware {
-
+    protected static class MultiRabbitConnectionFactoryCreator implements BeanFactoryAware, ApplicationContextAware,
+            EnvironmentAware, DisposableBean, MultiRabbitRegistry.ConnectionProvisioner {
+
+        private final Map<String, AutoCloseable> streamEnvironments = new ConcurrentHashMap<>();
+        private final Map<ConnectionFactory, AutoCloseable> retiredStreamEnvironments
+                = Collections.synchronizedMap(new IdentityHashMap<>());
+        private final Map<ConnectionFactory, RemovedBeans> removedBeans
+                = Collections.synchronizedMap(new IdentityHashMap<>());
+        private volatile BiFunction<String, RabbitProperties, ConnectionFactory> runtimeConnectionFactory;
+        private final MultiRabbitConnectionStarter connectionStarter = new MultiRabbitConnectionStarter();
+        private MultiRabbitSharedExecutor sharedExecutor;
+        private Environment environment;
         private ConfigurableListableBeanFactory beanFactory;
         private ApplicationContext applicationContext;
         private final RabbitConnectionFactoryCreator springFactoryCreator;
+        private final ObjectProvider<MessageConverter> messageConverter;
+        private final ObjectProvider<MessageRecoverer> messageRecoverer;
+        private final ObjectProvider<RabbitRetryTemplateCustomizer> retryTemplateCustomizers;
 
         /**
          * Creates a new MultiRabbitConnectionFactoryCreator for instantiation of beans.
          *
-         * @param springFactoryCreator The RabbitConnectionFactoryCreator.
+         * @param springFactoryCreator     The RabbitConnectionFactoryCreator.
+         * @param messageConverter         The MessageConverter to be set in the container factories, if unique.
+         * @param messageRecoverer         The MessageRecoverer to be set in the container factories, if unique.
+         * @param retryTemplateCustomizers The RabbitRetryTemplateCustomizers of the listeners retry templates.
          */
-        MultiRabbitConnectionFactoryCreator(final RabbitConnectionFactoryCreator springFactoryCreator) {
+        MultiRabbitConnectionFactoryCreator(
+                final RabbitConnectionFactoryCreator springFactoryCreator,
+                final ObjectProvider<MessageConverter> messageConverter,
+                final ObjectProvider<MessageRecoverer> messageRecoverer,
+                final ObjectProvider<RabbitRetryTemplateCustomizer> retryTemplateCustomizers) {
             this.springFactoryCreator = springFactoryCreator;
+            this.messageConverter = messageConverter;
+            this.messageRecoverer = messageRecoverer;
+            this.retryTemplateCustomizers = retryTemplateCustomizers;
         }
 
         /**
@@ -108,6 +168,297 @@ public class MultiRabbitAutoConfiguration {
             return new MultiRabbitConnectionFactoryWrapper();
         }
 
+        /**
+         * Returns the registry of one {@link RabbitTemplate} per connection, bound directly to its connection factory
+         * and configured from its template properties (or the default ones, for connections provided externally).
+         *
+         * @param connectionFactory     The routing connection factory.
+         * @param rabbitProperties      The default rabbit properties.
+         * @param multiRabbitProperties The additional rabbit properties.
+         * @return the registry of templates.
+         */
+        @Bean(MultiRabbitConstants.RABBIT_TEMPLATES_BEAN_NAME)
+        @ConditionalOnMissingBean
+        public MultiRabbitTemplates multiRabbitTemplates(final ConnectionFactory connectionFactory,
+                                                         final RabbitProperties rabbitProperties,
+                                                         final MultiRabbitProperties multiRabbitProperties) {
+            final MultiRabbitTemplates templates = new MultiRabbitTemplates();
+            if (connectionFactory instanceof MultiRabbitRoutingConnectionFactory) {
+                ((MultiRabbitRoutingConnectionFactory) connectionFactory).getTargetConnectionFactories()
+                        .forEach((key, targetConnectionFactory) -> templates.put(key.toString(), newRabbitTemplate(
+                                key.toString(),
+                                multiRabbitProperties.getConnections().getOrDefault(key.toString(), rabbitProperties),
+                                targetConnectionFactory)));
+            }
+            return templates;
+        }
+
+        /**
+         * Returns the publisher to the connections by name, completing with the confirms of the brokers, which also
+         * broadcasts to several connections at once.
+         *
+         * @param templates The templates of the connections.
+         * @return the publisher.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public MultiRabbitPublisher multiRabbitPublisher(final MultiRabbitTemplates templates) {
+            return new MultiRabbitPublisher(templates, messageConverter.getIfUnique(SimpleMessageConverter::new),
+                    null);
+        }
+
+        /**
+         * Returns the groups of connections sharing the load of a topic by consistent hashing.
+         *
+         * @param templates             The templates of the connections.
+         * @param multiRabbitProperties The additional rabbit properties.
+         * @return the groups of connections.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public MultiRabbitGroups multiRabbitGroups(final MultiRabbitTemplates templates,
+                                                   final MultiRabbitProperties multiRabbitProperties) {
+            return new MultiRabbitGroups(templates, multiRabbitProperties.getGroups());
+        }
+
+        /**
+         * Returns the starter of the connections, which applies their lazy, warm-up and parallel startup options.
+         *
+         * @return the starter of the connections.
+         */
+        @Bean(MultiRabbitConstants.CONNECTION_STARTER_BEAN_NAME)
+        @DependsOn(MultiRabbitConstants.CONNECTION_FACTORY_BEAN_NAME)
+        public MultiRabbitConnectionStarter multiRabbitConnectionStarter() {
+            return connectionStarter;
+        }
+
+        /**
+         * Returns the registry to add and remove connections at runtime.
+         *
+         * @param connectionFactory     The routing connection factory.
+         * @param templates             The templates of the connections.
+         * @param endpointRegistry      The registry of listener containers.
+         * @param groups                The groups of connections.
+         * @param multiRabbitProperties The additional rabbit properties.
+         * @return the registry of connections.
+         */
+        @Bean(MultiRabbitConstants.REGISTRY_BEAN_NAME)
+        @ConditionalOnMissingBean
+        public MultiRabbitRegistry multiRabbitRegistry(
+                final ConnectionFactory connectionFactory,
+                final MultiRabbitTemplates templates,
+                final ObjectProvider<RabbitListenerEndpointRegistry> endpointRegistry,
+                final ObjectProvider<MultiRabbitGroups> groups,
+                final MultiRabbitProperties multiRabbitProperties) {
+            return new MultiRabbitRegistry((MultiRabbitRoutingConnectionFactory) connectionFactory, templates,
+                    endpointRegistry, groups, this, multiRabbitProperties.getDrainPeriod());
+        }
+
+        /**
+         * Returns the refresher of the connections when their properties change at runtime.
+         *
+         * @param registry    The registry of connections.
+         * @param environment The environment holding the properties.
+         * @return the refresher of connections.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public MultiRabbitRefresher multiRabbitRefresher(final MultiRabbitRegistry registry,
+                                                         final Environment environment) {
+            return new MultiRabbitRefresher(registry, environment);
+        }
+
+        @Override
+        public ConnectionFactory create(final String name, final RabbitProperties rabbitProperties) {
+            if (runtimeConnectionFactory == null) {
+                throw new IllegalStateException("The MultiRabbit connection factory is not initialized yet");
+            }
+            final ConnectionFactory connectionFactory = runtimeConnectionFactory.apply(name, rabbitProperties);
+            bindMetrics(name, connectionFactory);
+            return connectionFactory;
+        }
+
+        @Override
+        public void removeBeans(final String name, final ConnectionFactory connectionFactory) {
+            final RemovedBeans removed = new RemovedBeans();
+            if (beanFactory.containsSingleton(name)) {
+                removed.containerFactory = beanFactory.getSingleton(name);
+            }
+            destroySingleton(name);
+            removed.listenerThreads = releaseListenerThreads(connectionFactory);
+            final String adminBeanName = name + RABBIT_ADMIN_SUFFIX;
+            if (beanFactory instanceof AliasRegistry && ((AliasRegistry) beanFactory).isAlias(adminBeanName)) {
+                removed.adminAliasOf = beanFactory.getBean(adminBeanName, RabbitAdmin.class).getBeanName();
+                ((AliasRegistry) beanFactory).removeAlias(adminBeanName);
+            } else if (beanFactory.getAliases(adminBeanName).length == 0) {
+                if (beanFactory.containsSingleton(adminBeanName)) {
+                    removed.admin = beanFactory.getSingleton(adminBeanName);
+                }
+                destroySingleton(adminBeanName);
+            }
+            final AutoCloseable streamEnvironment = streamEnvironments.remove(name);
+            if (streamEnvironment != null) {
+                retiredStreamEnvironments.put(connectionFactory, streamEnvironment);
+            }
+            removedBeans.put(connectionFactory, removed);
+        }
+
+        @Override
+        public void restoreBeans(final String name, final ConnectionFactory connectionFactory) {
+            final RemovedBeans removed = removedBeans.remove(connectionFactory);
+            if (removed == null) {
+                return;
+            }
+            if (removed.containerFactory != null) {
+                beanFactory.registerSingleton(name, removed.containerFactory);
+            }
+            if (removed.listenerThreads > 0) {
+                reserveListenerThreads(name, connectionFactory, removed.listenerThreads);
+            }
+            final String adminBeanName = name + RABBIT_ADMIN_SUFFIX;
+            if (removed.adminAliasOf != null) {
+                beanFactory.registerAlias(removed.adminAliasOf, adminBeanName);
+            } else if (removed.admin != null) {
+                beanFactory.registerSingleton(adminBeanName, removed.admin);
+            }
+            final AutoCloseable streamEnvironment = retiredStreamEnvironments.remove(connectionFactory);
+            if (streamEnvironment != null) {
+                streamEnvironments.put(name, streamEnvironment);
+            }
+        }
+
+        private synchronized int releaseListenerThreads(final ConnectionFactory connectionFactory) {
+            return sharedExecutor != null ? sharedExecutor.release(connectionFactory) : 0;
+        }
+
+        private synchronized void reserveListenerThreads(final String name,
+                                                         final ConnectionFactory connectionFactory,
+                                                         final int threads) {
+            if (sharedExecutor != null) {
+                sharedExecutor.reserve(name, connectionFactory, threads);
+            }
+        }
+
+        @Override
+        public void moveContainer(final String name,
+                                  final ConnectionFactory connectionFactory,
+                                  final AbstractMessageListenerContainer container) {
+            final RemovedBeans removed = removedBeans.get(container.getConnectionFactory());
+            final Object containerFactory = beanFactory.containsSingleton(name) ? beanFactory.getSingleton(name) : null;
+            if (removed != null && removed.containerFactory != null && containerFactory != null) {
+                applyListenerChanges(name, removed.containerFactory, containerFactory, container);
+            }
+            container.setConnectionFactory(connectionFactory);
+            final MultiRabbitSharedExecutor executor;
+            synchronized (this) {
+                executor = sharedExecutor;
+            }
+            if (executor != null) {
+                final Executor taskExecutor = (Executor) new DirectFieldAccessor(container)
+                        .getPropertyValue("taskExecutor");
+                final Executor movedExecutor = executor.move(taskExecutor, name, connectionFactory,
+                        listenerThreads(container));
+                if (movedExecutor != taskExecutor) {
+                    container.setTaskExecutor(movedExecutor);
+                }
+            }
+        }
+
+        /**
+         * Applies to a container the listener properties which differ between the old and the new container factories
+         * of a replaced connection, e.g. its prefetch, concurrency or ack mode, so that the settings of its listener
+         * are kept for the properties which did not change. A change of the listener type cannot be applied to the
+         * existing containers.
+         */
+        private static void applyListenerChanges(final String name,
+                                                 final Object oldContainerFactory,
+                                                 final Object containerFactory,
+                                                 final AbstractMessageListenerContainer container) {
+            if (oldContainerFactory.getClass() != containerFactory.getClass()) {
+                LOGGER.warn("MultiRabbitMQ broker '{}' changed its listener type, which is not applied to the "
+                        + "existing container '{}'", name, container.getListenerId());
+                return;
+            }
+            final DirectFieldAccessor oldProperties = new DirectFieldAccessor(oldContainerFactory);
+            final DirectFieldAccessor properties = new DirectFieldAccessor(containerFactory);
+            final BeanWrapper containerProperties = PropertyAccessorFactory.forBeanPropertyAccess(container);
+            for (String property : listenerProperties(container, properties)) {
+                if (!properties.isReadableProperty(property)) {
+                    continue;
+                }
+                final Object value = properties.getPropertyValue(property);
+                if (value != null && !ObjectUtils.nullSafeEquals(oldProperties.getPropertyValue(property), value)) {
+                    containerProperties.setPropertyValue(property, value);
+                }
+            }
+        }
+
+        /**
+         * Returns the listener properties of the container factories applicable to the containers, ordered so that
+         * the maximum concurrency of a simple container is raised before its concurrency, and lowered after it.
+         */
+        private static List<String> listenerProperties(final AbstractMessageListenerContainer container,
+                                                       final DirectFieldAccessor properties) {
+            final List<String> listenerProperties = new ArrayList<>(Arrays.asList("acknowledgeMode", "prefetchCount",
+                    "defaultRequeueRejected", "idleEventInterval", "missingQueuesFatal", "deBatchingEnabled",
+                    "adviceChain", "batchSize", "consumerBatchEnabled", "consumersPerQueue", "messagesPerAck"));
+            if (container instanceof SimpleMessageListenerContainer) {
+                final Integer concurrency = (Integer) properties.getPropertyValue("concurrentConsumers");
+                final Integer maxConcurrency = (Integer) new DirectFieldAccessor(container)
+                        .getPropertyValue("maxConcurrentConsumers");
+                final boolean raisesMaxConcurrency = concurrency != null && maxConcurrency != null
+                        && concurrency > maxConcurrency;
+                listenerProperties.addAll(raisesMaxConcurrency
+                        ? Arrays.asList("maxConcurrentConsumers", "concurrentConsumers")
+                        : Arrays.asList("concurrentConsumers", "maxConcurrentConsumers"));
+            }
+            return listenerProperties;
+        }
+
+        @Override
+        public void close(final String name, final ConnectionFactory connectionFactory) {
+            removedBeans.remove(connectionFactory);
+            connectionStarter.remove(name, connectionFactory);
+            unbindMetrics(name, connectionFactory);
+            final AutoCloseable streamEnvironment = retiredStreamEnvironments.remove(connectionFactory);
+            try {
+                if (streamEnvironment != null) {
+                    streamEnvironment.close();
+                }
+                if (connectionFactory instanceof DisposableBean) {
+                    ((DisposableBean) connectionFactory).destroy();
+                }
+            } catch (Exception ex) {
+                LOGGER.warn("Failed to close MultiRabbitMQ broker '{}'", name, ex);
+            }
+        }
+
+        private void destroySingleton(final String beanName) {
+            if (beanFactory.containsSingleton(beanName) && beanFactory instanceof DefaultSingletonBeanRegistry) {
+                ((DefaultSingletonBeanRegistry) beanFactory).destroySingleton(beanName);
+            }
+        }
+
+        /**
+         * Registers the meters of a connection added at runtime, when the metrics of the connections are enabled.
+         */
+        private void bindMetrics(final String name, final ConnectionFactory connectionFactory) {
+            if (ClassUtils.isPresent(MultiRabbitMetrics.METER_REGISTRY_CLASS_NAME, getClass().getClassLoader())) {
+                beanFactory.getBeanProvider(MultiRabbitMetrics.class)
+                        .ifAvailable(metrics -> metrics.bindTo(name, connectionFactory));
+            }
+        }
+
+        /**
+         * Removes the meters of a connection removed at runtime, unless the connection was replaced since.
+         */
+        private void unbindMetrics(final String name, final ConnectionFactory connectionFactory) {
+            if (ClassUtils.isPresent(MultiRabbitMetrics.METER_REGISTRY_CLASS_NAME, getClass().getClassLoader())) {
+                beanFactory.getBeanProvider(MultiRabbitMetrics.class)
+                        .ifAvailable(metrics -> metrics.unbind(name, connectionFactory));
+            }
+        }
+
         /**
          * Returns the routing connection factory populated with the connection factories provided from configuration.
          *
@@ -132,10 +483,16 @@ public class MultiRabbitAutoConfiguration {
                 final ObjectProvider<CredentialsRefreshService> credentialsRefreshService,
                 final ObjectProvider<ConnectionNameStrategy> connectionNameStrategy,
                 final ObjectProvider<ConnectionFactoryCustomizer> connectionFactoryCustomizers) throws Exception {
-            final MultiRabbitConnectionFactoryWrapper internalWrapper
-                    = instantiateConnectionFactories(rabbitProperties, multiRabbitProperties, resourceLoader,
-                    credentialsProvider, credentialsRefreshService, connectionNameStrategy,
-                    connectionFactoryCustomizers);
+            final StartupStep instantiateStep = applicationStartup()
+                    .start(MultiRabbitConstants.INSTANTIATE_CONNECTIONS_STARTUP_STEP);
+            final MultiRabbitConnectionFactoryWrapper internalWrapper;
+            try {
+                internalWrapper = instantiateConnectionFactories(rabbitProperties, multiRabbitProperties,
+                        resourceLoader, credentialsProvider, credentialsRefreshService, connectionNameStrategy,
+                        connectionFactoryCustomizers);
+            } finally {
+                instantiateStep.end();
+            }
             final MultiRabbitConnectionFactoryWrapper aggregatedWrapper
                     = aggregateConnectionFactoryWrappers(internalWrapper, externalWrapper);
 
@@ -143,17 +500,58 @@ public class MultiRabbitAutoConfiguration {
                 throw new IllegalArgumentException("A default ConnectionFactory must be provided.");
             }
 
-            aggregatedWrapper.getEntries().forEach((name, value) -> {
-                registerContainerFactoryBean(name, value.getContainerFactory());
-                registerRabbitAdmins(name, value.getConnectionFactory());
-            });
+            final StartupStep registerStep = applicationStartup()
+                    .start(MultiRabbitConstants.REGISTER_BEANS_STARTUP_STEP)
+                    .tag("connections", String.valueOf(aggregatedWrapper.getEntries().size()));
+            try {
+                final Map<RabbitAdmin, String> registeredAdmins = new IdentityHashMap<>();
+                aggregatedWrapper.getEntries().forEach((name, value) -> {
+                    registerContainerFactoryBean(name, value.getContainerFactory());
+                    registerRabbitAdmins(name, value, multiRabbitProperties, registeredAdmins);
+                });
+            } finally {
+                registerStep.end();
+            }
 
-            final SimpleRoutingConnectionFactory connectionFactory = new SimpleRoutingConnectionFactory();
+            runtimeConnectionFactory = (name, properties) -> {
+                final MultiRabbitConnectionFactoryWrapper.Entry entry;
+                try {
+                    entry = instantiateConnection(name, properties, multiRabbitProperties, resourceLoader,
+                            credentialsProvider, credentialsRefreshService, connectionNameStrategy,
+                            connectionFactoryCustomizers).getEntries().get(name);
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new IllegalStateException(String.format("Failed to create MultiRabbitMQ broker '%s'", name),
+                            ex);
+                }
+                try {
+                    registerContainerFactoryBean(name, entry.getContainerFactory());
+                    registerRabbitAdmins(name, entry, multiRabbitProperties, new IdentityHashMap<>());
+                } catch (RuntimeException ex) {
+                    removeBeans(name, entry.getConnectionFactory());
+                    close(name, entry.getConnectionFactory());
+                    throw ex;
+                }
+                return entry.getConnectionFactory();
+            };
+
+            final MultiRabbitRoutingConnectionFactory connectionFactory = new MultiRabbitRoutingConnectionFactory();
             connectionFactory.setTargetConnectionFactories(aggregatedWrapper.getConnectionFactories());
             connectionFactory.setDefaultTargetConnectionFactory(aggregatedWrapper.getDefaultConnectionFactory());
             return connectionFactory;
         }
 
+        /**
+         * Returns the {@link ApplicationStartup} of the application context, which records the steps of the
+         * initialization of the connections, or the default no-op one.
+         */
+        private ApplicationStartup applicationStartup() {
+            return applicationContext instanceof ConfigurableApplicationContext
+                    ? ((ConfigurableApplicationContext) applicationContext).getApplicationStartup()
+                    : ApplicationStartup.DEFAULT;
+        }
+
         /**
          * Returns an aggregated view of two {@link MultiRabbitConnectionFactoryWrapper}, in which
          * {@code externalWrapper} has higher precedence and will be preferred in case of clash of keys
@@ -189,21 +587,17 @@ public class MultiRabbitAutoConfiguration {
                     ? multiRabbitProperties.getConnections()
                     : Collections.emptyMap();
 
+            final List<Callable<MultiRabbitConnectionFactoryWrapper>> initializations = new ArrayList<>();
             for (Map.Entry<String, RabbitProperties> entry : propertiesMap.entrySet()) {
-                final RabbitConnectionFactoryBeanConfigurer rabbitConnectionFactoryBeanConfigurer =
-                        springFactoryCreator.rabbitConnectionFactoryBeanConfigurer(entry.getValue(), resourceLoader,
-                        credentialsProvider, credentialsRefreshService);
-                final CachingConnectionFactoryConfigurer rabbitCachingConnectionFactoryConfigurer =
-                        springFactoryCreator.rabbitConnectionFactoryConfigurer(entry.getValue(),
-                                connectionNameStrategy);
-
-                final CachingConnectionFactory connectionFactory
-                        = springFactoryCreator.rabbitConnectionFactory(rabbitConnectionFactoryBeanConfigurer,
-                        rabbitCachingConnectionFactoryConfigurer,
-                        connectionFactoryCustomizer);
-                final SimpleRabbitListenerContainerFactory containerFactory = newContainerFactory(connectionFactory);
-                final RabbitAdmin rabbitAdmin = newRabbitAdmin(connectionFactory);
-                wrapper.addConnectionFactory(entry.getKey(), connectionFactory, containerFactory, rabbitAdmin);
+                initializations.add(() -> instantiateConnection(entry.getKey(), entry.getValue(),
+                        multiRabbitProperties, resourceLoader, credentialsProvider, credentialsRefreshService,
+                        connectionNameStrategy, connectionFactoryCustomizer));
+            }
+            final int parallelism = multiRabbitProperties != null
+                    ? multiRabbitProperties.getInitializationParallelism()
+                    : 1;
+            for (MultiRabbitConnectionFactoryWrapper connectionWrapper : invokeAll(initializations, parallelism)) {
+                wrapper.putEntriesFrom(connectionWrapper);
             }
 
             final String defaultConnectionFactoryKey = multiRabbitProperties != null
@@ -236,39 +630,356 @@ public class MultiRabbitAutoConfiguration {
         }
 
         /**
-         * Registers the ContainerFactory bean.
+         * Returns a wrapper with the single entry of a connection: its connection factory, container factory and admin.
+         */
+        private MultiRabbitConnectionFactoryWrapper instantiateConnection(
+                final String name,
+                final RabbitProperties rabbitProperties,
+                final MultiRabbitProperties multiRabbitProperties,
+                final ResourceLoader resourceLoader,
+                final ObjectProvider<CredentialsProvider> credentialsProvider,
+                final ObjectProvider<CredentialsRefreshService> credentialsRefreshService,
+                final ObjectProvider<ConnectionNameStrategy> connectionNameStrategy,
+                final ObjectProvider<ConnectionFactoryCustomizer> connectionFactoryCustomizer) throws Exception {
+            final RabbitConnectionFactoryBeanConfigurer rabbitConnectionFactoryBeanConfigurer =
+                    springFactoryCreator.rabbitConnectionFactoryBeanConfigurer(rabbitProperties, resourceLoader,
+                    credentialsProvider, credentialsRefreshService);
+            final CachingConnectionFactoryConfigurer rabbitCachingConnectionFactoryConfigurer =
+                    springFactoryCreator.rabbitConnectionFactoryConfigurer(rabbitProperties, connectionNameStrategy);
+
+            final CachingConnectionFactory connectionFactory
+                    = springFactoryCreator.rabbitConnectionFactory(rabbitConnectionFactoryBeanConfigurer,
+                    rabbitCachingConnectionFactoryConfigurer,
+                    connectionFactoryCustomizer);
+            final RabbitListenerContainerFactory<?> containerFactory = newContainerFactory(name, rabbitProperties,
+                    connectionFactory);
+            final MultiRabbitConnectionOptions options = connectionOptions(name);
+            if (containerFactory instanceof AbstractRabbitListenerContainerFactory) {
+                configureListenerExecutor(name, options, connectionFactory,
+                        (AbstractRabbitListenerContainerFactory<?>) containerFactory, multiRabbitProperties);
+            }
+            if (options.isLazy() && containerFactory instanceof AbstractRabbitListenerContainerFactory) {
+                connectionStarter.deferContainers(name, connectionFactory,
+                        (AbstractRabbitListenerContainerFactory<?>) containerFactory);
+            } else if (multiRabbitProperties != null && multiRabbitProperties.getParallelStartup().isEnabled()
+                    && containerFactory instanceof AbstractRabbitListenerContainerFactory) {
+                connectionStarter.startInParallel(name, connectionFactory,
+                        (AbstractRabbitListenerContainerFactory<?>) containerFactory,
+                        multiRabbitProperties.getParallelStartup().getTimeout());
+            }
+            if (options.getWarmUp() > 0) {
+                connectionStarter.warmUp(name, connectionFactory, options.getWarmUp());
+            }
+            final MultiRabbitConnectionFactoryWrapper wrapper = new MultiRabbitConnectionFactoryWrapper();
+            wrapper.putEntry(name, connectionFactory, containerFactory, newRabbitAdmin(connectionFactory,
+                    multiRabbitProperties));
+            return wrapper;
+        }
+
+        /**
+         * Returns the options of a connection, which are bound from the same properties as its RabbitProperties.
+         */
+        private MultiRabbitConnectionOptions connectionOptions(final String name) {
+            return Binder.get(environment)
+                    .bind("spring.multirabbitmq.connections[" + name + "]", MultiRabbitConnectionOptions.class)
+                    .orElseGet(MultiRabbitConnectionOptions::new);
+        }
+
+        /**
+         * Runs the initializations of the connections, up to {@code parallelism} at a time, and returns their results
+         * in the order of the initializations. All of them are completed before returning, so a failure is reported
+         * for the first connection in that order (with the others as suppressed), regardless of the timing.
+         */
+        private <T> List<T> invokeAll(final List<Callable<T>> initializations, final int parallelism)
+                throws Exception {
+            final List<T> results = new ArrayList<>(initializations.size());
+            if (parallelism <= 1 || initializations.size() <= 1) {
+                for (Callable<T> initialization : initializations) {
+                    results.add(initialization.call());
+                }
+                return results;
+            }
+            final ExecutorService executor = Executors.newFixedThreadPool(
+                    Math.min(parallelism, initializations.size()),
+                    new CustomizableThreadFactory("multirabbit-init-"));
+            try {
+                Exception failure = null;
+                for (Future<T> future : executor.invokeAll(initializations)) {
+                    try {
+                        results.add(future.get());
+                    } catch (ExecutionException ex) {
+                        final Exception cause = ex.getCause() instanceof Exception
+                                ? (Exception) ex.getCause()
+                                : ex;
+                        if (failure == null) {
+                            failure = cause;
+                        } else {
+                            failure.addSuppressed(cause);
+                        }
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                return results;
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        /**
+         * Creates the ContainerFactory of the type defined in the listener properties of the connection, configured
+         * the same way Spring Boot does for the default one.
+         */
+        private RabbitListenerContainerFactory<?> newContainerFactory(final String name,
+                                                                      final RabbitProperties rabbitProperties,
+                                                                      final ConnectionFactory connectionFactory) {
+            switch (rabbitProperties.getListener().getType()) {
+                case DIRECT:
+                    final DirectRabbitListenerContainerFactory directContainerFactory
+                            = new DirectRabbitListenerContainerFactory();
+                    withListenerDefaults(new DirectRabbitListenerContainerFactoryConfigurer(rabbitProperties))
+                            .configure(directContainerFactory, connectionFactory);
+                    return directContainerFactory;
+                case STREAM:
+                    return newStreamContainerFactory(name, rabbitProperties);
+                case SIMPLE:
+                default:
+                    final SimpleRabbitListenerContainerFactory simpleContainerFactory
+                            = new SimpleRabbitListenerContainerFactory();
+                    withListenerDefaults(new SimpleRabbitListenerContainerFactoryConfigurer(rabbitProperties))
+                            .configure(simpleContainerFactory, connectionFactory);
+                    return simpleContainerFactory;
+            }
+        }
+
+        /**
+         * Creates the stream ContainerFactory, which requires spring-rabbit-stream to be available.
+         */
+        private RabbitListenerContainerFactory<?> newStreamContainerFactory(final String name,
+                                                                            final RabbitProperties rabbitProperties) {
+            if (!ClassUtils.isPresent(MultiRabbitStreamContainerFactoryCreator.STREAM_CONTAINER_FACTORY_CLASS_NAME,
+                    getClass().getClassLoader())) {
+                final String msg = String.format("MultiRabbitMQ broker '%s' is set with listener type 'stream', but "
+                        + "spring-rabbit-stream is not available in the classpath", name);
+                LOGGER.error(msg);
+                throw new IllegalStateException(msg);
+            }
+            final com.rabbitmq.stream.Environment streamEnvironment
+                    = MultiRabbitStreamContainerFactoryCreator.newEnvironment(rabbitProperties);
+            streamEnvironments.put(name, streamEnvironment);
+            return MultiRabbitStreamContainerFactoryCreator.newContainerFactory(rabbitProperties, streamEnvironment);
+        }
+
+        /**
+         * Sets the executor of the listener containers of a connection, unless they create their own. With the shared
+         * executor, each container reserves its listener threads in it as it is created.
+         */
+        private <C extends AbstractMessageListenerContainer> void configureListenerExecutor(
+                final String name,
+                final MultiRabbitConnectionOptions options,
+                final ConnectionFactory connectionFactory,
+                final AbstractRabbitListenerContainerFactory<C> containerFactory,
+                final MultiRabbitProperties multiRabbitProperties) {
+            if (multiRabbitProperties == null) {
+                return;
+            }
+            final boolean virtualThreads = multiRabbitProperties.getVirtualThreads().isEnabled();
+            if (multiRabbitProperties.getSharedExecutor().isEnabled()) {
+                final MultiRabbitSharedExecutor executor
+                        = sharedExecutor(multiRabbitProperties.getSharedExecutor(), virtualThreads);
+                MultiRabbitConnectionStarter.addContainerCustomizer(containerFactory,
+                        container -> reserveListenerThreads(name, options, connectionFactory, executor, container));
+            } else if (virtualThreads) {
+                containerFactory.setTaskExecutor(new SimpleAsyncTaskExecutor(
+                        VirtualThreads.newThreadFactory(name + "-")));
+            }
+        }
+
+        /**
+         * Reserves the listener threads of a container in the shared executor, unless its listener sets its own
+         * executor. The reservations of the containers of a connection cannot exceed its listener-threads, if set.
          */
-        private SimpleRabbitListenerContainerFactory newContainerFactory(final ConnectionFactory connectionFactory) {
-            final SimpleRabbitListenerContainerFactory containerFactory = new SimpleRabbitListenerContainerFactory();
-            containerFactory.setConnectionFactory(connectionFactory);
-            return containerFactory;
+        private static void reserveListenerThreads(final String name,
+                                                   final MultiRabbitConnectionOptions options,
+                                                   final ConnectionFactory connectionFactory,
+                                                   final MultiRabbitSharedExecutor sharedExecutor,
+                                                   final AbstractMessageListenerContainer container) {
+            if (Boolean.TRUE.equals(new DirectFieldAccessor(container).getPropertyValue("taskExecutorSet"))) {
+                return;
+            }
+            final int threads = listenerThreads(container);
+            synchronized (sharedExecutor) {
+                final int reserved = sharedExecutor.getReservedThreads(connectionFactory);
+                if (options.getListenerThreads() > 0 && reserved + threads > options.getListenerThreads()) {
+                    final String msg = String.format("MultiRabbitMQ broker '%s' needs %d listener threads for "
+                                    + "container '%s', but only %d of its %d listener-threads are left", name,
+                            threads, container.getListenerId(), options.getListenerThreads() - reserved,
+                            options.getListenerThreads());
+                    LOGGER.error(msg);
+                    throw new IllegalStateException(msg);
+                }
+                container.setTaskExecutor(sharedExecutor.reserve(name, connectionFactory, threads));
+            }
         }
 
         /**
-         * Register the RabbitAdmin bean (to enable context changing with Rabbit annotations).
+         * Returns the number of listener threads of a container: the largest number of consumers of a simple
+         * container, or a single thread starting the consumers of a direct one.
          */
-        private RabbitAdmin newRabbitAdmin(final ConnectionFactory connectionFactory) {
-            return new RabbitAdmin(connectionFactory);
+        private static int listenerThreads(final AbstractMessageListenerContainer container) {
+            if (!(container instanceof SimpleMessageListenerContainer)) {
+                return 1;
+            }
+            final DirectFieldAccessor accessor = new DirectFieldAccessor(container);
+            final int concurrency = (Integer) accessor.getPropertyValue("concurrentConsumers");
+            final Integer maxConcurrency = (Integer) accessor.getPropertyValue("maxConcurrentConsumers");
+            return Math.max(concurrency, maxConcurrency != null ? maxConcurrency : 0);
+        }
+
+        /**
+         * Returns the executor shared with the ContainerFactories, creating it on the first call. Its threads are not
+         * limited by the executor itself, but by the reservations of the connections, so it never rejects a task of a
+         * connection within its reservation, nor blocks while submitting it.
+         */
+        private synchronized MultiRabbitSharedExecutor sharedExecutor(
+                final MultiRabbitProperties.SharedExecutor properties,
+                final boolean virtualThreads) {
+            if (sharedExecutor == null && virtualThreads) {
+                sharedExecutor = new MultiRabbitSharedExecutor(new SimpleAsyncTaskExecutor(
+                        VirtualThreads.newThreadFactory(properties.getThreadNamePrefix())), properties.getMaxSize());
+            } else if (sharedExecutor == null) {
+                final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+                executor.setCorePoolSize(properties.getMaxSize());
+                executor.setMaxPoolSize(properties.getMaxSize());
+                executor.setAllowCoreThreadTimeOut(true);
+                executor.setKeepAliveSeconds((int) properties.getKeepAlive().getSeconds());
+                executor.setThreadNamePrefix(properties.getThreadNamePrefix());
+                executor.initialize();
+                sharedExecutor = new MultiRabbitSharedExecutor(executor, properties.getMaxSize());
+            }
+            return sharedExecutor;
+        }
+
+        /**
+         * Applies the converter, recoverer and retry customizers shared with all the ContainerFactories.
+         */
+        private <T extends AbstractRabbitListenerContainerFactoryConfigurer<?>> T withListenerDefaults(
+                final T configurer) {
+            configurer.setMessageConverter(messageConverter.getIfUnique());
+            configurer.setMessageRecoverer(messageRecoverer.getIfUnique());
+            configurer.setRetryTemplateCustomizers(retryTemplateCustomizers.orderedStream()
+                    .collect(Collectors.toList()));
+            return configurer;
+        }
+
+        /**
+         * Creates a RabbitTemplate configured from the template properties of the connection, the same way Spring Boot
+         * does for the default one.
+         */
+        @Override
+        public RabbitTemplate newRabbitTemplate(final String name,
+                                                 final RabbitProperties rabbitProperties,
+                                                 final ConnectionFactory connectionFactory) {
+            final RabbitTemplateConfigurer configurer = new RabbitTemplateConfigurer(rabbitProperties);
+            configurer.setMessageConverter(messageConverter.getIfUnique());
+            configurer.setRetryTemplateCustomizers(retryTemplateCustomizers.orderedStream()
+                    .collect(Collectors.toList()));
+            final RabbitTemplate template = instantiateRabbitTemplate(name);
+            configurer.configure(template, connectionFactory);
+            return template;
+        }
+
+        /**
+         * Instantiates a RabbitTemplate which measures its publishes, when the metrics of the connections are enabled.
+         */
+        private RabbitTemplate instantiateRabbitTemplate(final String name) {
+            if (ClassUtils.isPresent(MultiRabbitMetrics.METER_REGISTRY_CLASS_NAME, getClass().getClassLoader())) {
+                final MultiRabbitMetrics metrics = beanFactory.getBeanProvider(MultiRabbitMetrics.class)
+                        .getIfAvailable();
+                if (metrics != null) {
+                    return metrics.newRabbitTemplate(name);
+                }
+            }
+            return new RabbitTemplate();
+        }
+
+        /**
+         * Creates the RabbitAdmin of a connection, which declares in batches if enabled.
+         */
+        private RabbitAdmin newRabbitAdmin(final ConnectionFactory connectionFactory,
+                                           final MultiRabbitProperties multiRabbitProperties) {
+            final MultiRabbitProperties.Declarations declarations = multiRabbitProperties != null
+                    ? multiRabbitProperties.getDeclarations()
+                    : null;
+            if (declarations == null || !declarations.isBatched()) {
+                return new RabbitAdmin(connectionFactory);
+            }
+            final BatchingRabbitAdmin rabbitAdmin = new BatchingRabbitAdmin(connectionFactory,
+                    declarations.getChannels());
+            rabbitAdmin.setDeclarationCache(declarations.isCache());
+            return rabbitAdmin;
         }
 
         /**
          * Registers the ContainerFactory bean.
          */
         private void registerContainerFactoryBean(final String name,
-                                                  final AbstractRabbitListenerContainerFactory<?> containerFactory) {
+                                                  final RabbitListenerContainerFactory<?> containerFactory) {
             beanFactory.registerSingleton(name, containerFactory);
         }
 
         /**
-         * Register the RabbitAdmin bean (to enable context changing with Rabbit annotations).
+         * Register the RabbitAdmin bean (to enable context changing with Rabbit annotations), reusing the one of the
+         * entry if provided. An admin shared by several entries is registered and initialized only once, with the
+         * names of the other entries as aliases, so that it declares their Exchanges, Queues and Bindings once.
          */
-        private void registerRabbitAdmins(final String name, final ConnectionFactory connectionFactory) {
+        private void registerRabbitAdmins(final String name,
+                                          final MultiRabbitConnectionFactoryWrapper.Entry entry,
+                                          final MultiRabbitProperties multiRabbitProperties,
+                                          final Map<RabbitAdmin, String> registeredAdmins) {
             final String beanName = name + RABBIT_ADMIN_SUFFIX;
-            RabbitAdmin rabbitAdmin = new RabbitAdmin(connectionFactory);
+            final RabbitAdmin rabbitAdmin = entry.getRabbitAdmin() != null
+                    ? entry.getRabbitAdmin()
+                    : newRabbitAdmin(entry.getConnectionFactory(), multiRabbitProperties);
+            final String registeredBeanName = registeredAdmins.get(rabbitAdmin);
+            if (registeredBeanName != null) {
+                beanFactory.registerAlias(registeredBeanName, beanName);
+                return;
+            }
             rabbitAdmin.setApplicationContext(applicationContext);
             rabbitAdmin.setBeanName(beanName);
             rabbitAdmin.afterPropertiesSet();
             beanFactory.registerSingleton(beanName, rabbitAdmin);
+            registeredAdmins.put(rabbitAdmin, beanName);
+        }
+
+        /**
+         * Closes the stream environments created for the connections with {@code listener.type=stream} and shuts
+         * down the shared executor, if any.
+         *
+         * @throws Exception if any of the environments fails to close.
+         */
+        @Override
+        public void destroy() throws Exception {
+            if (sharedExecutor != null && sharedExecutor.getExecutor() instanceof ThreadPoolTaskExecutor) {
+                ((ThreadPoolTaskExecutor) sharedExecutor.getExecutor()).shutdown();
+            }
+            for (AutoCloseable environment : streamEnvironments.values()) {
+                environment.close();
+            }
+        }
+
+        /**
+         * The beans of a connection removed from the bean factory, kept until its connection factory is closed, so
+         * that they can be registered again when its replacement fails.
+         */
+        private static final class RemovedBeans {
+
+            private Object containerFactory;
+            private Object admin;
+            private String adminAliasOf;
+            private int listenerThreads;
         }
 
         @Override
@@ -276,6 +987,11 @@ public class MultiRabbitAutoConfiguration {
             this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
         }
 
+        @Override
+        public void setEnvironment(final Environment environment) {
+            this.environment = environment;
+        }
+
         @Override
         public void setApplicationContext(final ApplicationContext applicationContext) {
             this.applicationContext = applicationContext;
@@ -0,0 +1,62 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.springframework.amqp.rabbit.connection.CorrelationData.Confirm;
+
+/**
+ * The aggregate result of a message broadcast to several MultiRabbit connections, with the confirm of each broker the
+ * message was published to, and the failure of each one it could not be published to.
+ *
+ * @author Wander Costa
+ */
+public class MultiRabbitBroadcastResult {
+
+    private final Map<String, Confirm> confirms;
+    private final Map<String, Throwable> failures;
+
+    /**
+     * Creates a new result.
+     *
+     * @param confirms The confirms by connection name.
+     * @param failures The failures by connection name.
+     */
+    MultiRabbitBroadcastResult(final Map<String, Confirm> confirms, final Map<String, Throwable> failures) {
+        this.confirms = Collections.unmodifiableMap(confirms);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * Returns the confirms of the brokers the message was published to, by connection name.
+     *
+     * @return the confirms by connection name.
+     */
+    public Map<String, Confirm> getConfirms() {
+        return confirms;
+    }
+
+    /**
+     * Returns the failures of the brokers the message could not be published to, by connection name. A connection
+     * without correlated publisher confirms is not published to, and fails with an {@link IllegalStateException}.
+     *
+     * @return the failures by connection name.
+     */
+    public Map<String, Throwable> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Returns whether the message was published to and acknowledged by all brokers.
+     *
+     * @return whether all brokers acknowledged the message.
+     */
+    public boolean isAcknowledged() {
+        return failures.isEmpty() && confirms.values().stream().allMatch(Confirm::isAck);
+    }
+
+    @Override
+    public String toString() {
+        return "MultiRabbitBroadcastResult [confirms=" + confirms + ", failures=" + failures + "]";
+    }
+}
@@ -3,6 +3,7 @@ package org.springframework.boot.autoconfigure.amqp;
 import org.springframework.amqp.rabbit.config.AbstractRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -92,6 +93,22 @@ public class MultiRabbitConnectionFactoryWrapper {
                                      final ConnectionFactory connectionFactory,
                                      final AbstractRabbitListenerContainerFactory<?> containerFactory,
                                      final RabbitAdmin rabbitAdmin) {
+        putEntry(key, connectionFactory, containerFactory, rabbitAdmin);
+    }
+
+    /**
+     * Adds a {@link ConnectionFactory} associated to any kind of {@link RabbitListenerContainerFactory}, like the
+     * stream ones, which are not bound to a {@link ConnectionFactory}, and a RabbitAdmin.
+     *
+     * @param key               The key for the structures.
+     * @param connectionFactory The {@link ConnectionFactory}.
+     * @param containerFactory  The related {@link RabbitListenerContainerFactory}.
+     * @param rabbitAdmin       The related {@link RabbitAdmin}.
+     */
+    void putEntry(final String key,
+                  final ConnectionFactory connectionFactory,
+                  final RabbitListenerContainerFactory<?> containerFactory,
+                  final RabbitAdmin rabbitAdmin) {
         hasText(key, "Key may not be null or empty");
         entries.put(key, new Entry(connectionFactory, containerFactory, rabbitAdmin));
     }
@@ -121,22 +138,22 @@ public class MultiRabbitConnectionFactoryWrapper {
     static final class Entry {
 
         private final ConnectionFactory connectionFactory;
-        private final AbstractRabbitListenerContainerFactory<?> containerFactory;
+        private final RabbitListenerContainerFactory<?> containerFactory;
         private final RabbitAdmin rabbitAdmin;
 
         /**
          * Returns an entry containing the triple for the wrapper.
          *
          * @param connectionFactory The related {@link ConnectionFactory}.
-         * @param containerFactory  The related {@link AbstractRabbitListenerContainerFactory}.
+         * @param containerFactory  The related {@link RabbitListenerContainerFactory}.
          * @param rabbitAdmin       The related {@link RabbitAdmin}.
          */
         private Entry(final ConnectionFactory connectionFactory,
-                      final AbstractRabbitListenerContainerFactory<?> containerFactory,
+                      final RabbitListenerContainerFactory<?> containerFactory,
                       final RabbitAdmin rabbitAdmin) {
             notNull(connectionFactory, "ConnectionFactory may not be null");
-            if (containerFactory != null) {
-                containerFactory.setConnectionFactory(connectionFactory);
+            if (containerFactory instanceof AbstractRabbitListenerContainerFactory) {
+                ((AbstractRabbitListenerContainerFactory<?>) containerFactory).setConnectionFactory(connectionFactory);
             }
             this.connectionFactory = connectionFactory;
             this.containerFactory = containerFactory;
@@ -153,11 +170,11 @@ public class MultiRabbitConnectionFactoryWrapper {
         }
 
         /**
-         * Returns the {@link AbstractRabbitListenerContainerFactory} of the entry.
+         * Returns the {@link RabbitListenerContainerFactory} of the entry.
          *
-         * @return the {@link AbstractRabbitListenerContainerFactory} of the entry.
+         * @return the {@link RabbitListenerContainerFactory} of the entry.
          */
-        AbstractRabbitListenerContainerFactory<?> getContainerFactory() {
+        RabbitListenerContainerFactory<?> getContainerFactory() {
             return containerFactory;
         }
 
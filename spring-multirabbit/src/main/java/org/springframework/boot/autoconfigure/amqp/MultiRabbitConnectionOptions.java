@@ -0,0 +1,52 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+/**
+ * Options of a connection defined under {@code spring.multirabbitmq.connections.<name>}, which are bound alongside its
+ * {@link RabbitProperties}, since those do not support additional fields.
+ *
+ * @author Wander Costa
+ */
+public class MultiRabbitConnectionOptions {
+
+    /**
+     * Defers the listener containers of the connection until its first use, e.g. by a template, to start them in the
+     * background, so that the broker is not connected to until it is used.
+     */
+    private boolean lazy = false;
+
+    /**
+     * The number of channels opened in the background after startup and released to the cache of the connection, so
+     * that the first uses do not wait for the handshake. Disabled with 0.
+     */
+    private int warmUp = 0;
+
+    /**
+     * The maximum number of threads of the shared executor reserved by the listener containers of the connection, each
+     * of which reserves the threads of its own consumers. Unlimited with 0, within the max-size of the executor.
+     */
+    private int listenerThreads = 0;
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public void setLazy(final boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    public int getWarmUp() {
+        return warmUp;
+    }
+
+    public void setWarmUp(final int warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    public int getListenerThreads() {
+        return listenerThreads;
+    }
+
+    public void setListenerThreads(final int listenerThreads) {
+        this.listenerThreads = listenerThreads;
+    }
+}
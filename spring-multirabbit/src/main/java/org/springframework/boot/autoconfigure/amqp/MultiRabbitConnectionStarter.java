@@ -0,0 +1,373 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import com.rabbitmq.client.Channel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.config.AbstractRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.RabbitUtils;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Starts the connections according to their {@link MultiRabbitConnectionOptions}. The listener containers of lazy
+ * connections are not started with the context, but in the background on the first use of the connection, e.g. by a
+ * template, a publisher or a call bound by the wrapper, so that a broker which is not used is never connected to, and
+ * the declarations of their admins wait for that first connection. The connections with warm-up open their channels
+ * in the background once the context is started, which is a first use for a lazy connection. With the parallel
+ * startup, the listener containers of each connection are started in parallel to those of the other connections, once
+ * the context is started. The deferred containers are started again each time the starter is, once their connection
+ * was used.
+ *
+ * @author Wander Costa
+ */
+public class MultiRabbitConnectionStarter implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiRabbitConnectionStarter.class);
+
+    private final Map<String, LazyConnection> lazyConnections = new ConcurrentHashMap<>();
+    private final Map<String, ParallelConnection> parallelConnections = new ConcurrentHashMap<>();
+    private final Map<String, WarmUp> warmUps = new ConcurrentHashMap<>();
+    private final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("multirabbit-starter-");
+    private volatile boolean running;
+
+    /**
+     * Creates a new starter.
+     */
+    MultiRabbitConnectionStarter() {
+        executor.setDaemon(true);
+    }
+
+    /**
+     * Defers the listener containers created by the container factory of a lazy connection until the first use of the
+     * connection, once the starter is started, to start them in the background. The first use is the first connection
+     * created by the connection factory, which is not opened by the deferred containers themselves. Containers
+     * explicitly set not to start automatically are left untouched, as well as the containers created once the
+     * deferred ones are started.
+     *
+     * @param name              The name of the connection.
+     * @param connectionFactory The {@link ConnectionFactory} of the connection.
+     * @param containerFactory  The container factory of the connection.
+     * @param <C>               The type of the listener containers.
+     */
+    <C extends AbstractMessageListenerContainer> void deferContainers(
+            final String name,
+            final ConnectionFactory connectionFactory,
+            final AbstractRabbitListenerContainerFactory<C> containerFactory) {
+        final LazyConnection lazyConnection = new LazyConnection(connectionFactory);
+        lazyConnections.put(name, lazyConnection);
+        addContainerCustomizer(containerFactory, container -> {
+            if (container.isAutoStartup() && lazyConnection.containers.defer(container)) {
+                container.setAutoStartup(false);
+            }
+        });
+        connectionFactory.addConnectionListener(connection -> {
+            lazyConnection.used = true;
+            if (running && lazyConnections.get(name) == lazyConnection) {
+                startLazyConnection(name, lazyConnection);
+            }
+        });
+    }
+
+    /**
+     * Defers the listener containers created by the container factory of a connection until the starter is started,
+     * to start them in parallel to those of the other connections. Containers explicitly set not to start
+     * automatically are left untouched, as well as the containers created once the starter is started.
+     *
+     * @param name              The name of the connection.
+     * @param connectionFactory The {@link ConnectionFactory} of the connection.
+     * @param containerFactory  The container factory of the connection.
+     * @param timeout           The time the startup of the context waits for the containers of the connection to
+     *                          start, after which they keep starting in the background.
+     * @param <C>               The type of the listener containers.
+     */
+    <C extends AbstractMessageListenerContainer> void startInParallel(
+            final String name,
+            final ConnectionFactory connectionFactory,
+            final AbstractRabbitListenerContainerFactory<C> containerFactory,
+            final Duration timeout) {
+        final ParallelConnection parallelConnection = new ParallelConnection(connectionFactory, timeout);
+        parallelConnections.put(name, parallelConnection);
+        if (running) {
+            parallelConnection.containers.open();
+        }
+        addContainerCustomizer(containerFactory, container -> {
+            if (container.isAutoStartup() && parallelConnection.containers.defer(container)) {
+                container.setAutoStartup(false);
+            }
+        });
+    }
+
+    /**
+     * Schedules the warm-up of a connection for when the starter is started.
+     *
+     * @param name              The name of the connection.
+     * @param connectionFactory The {@link ConnectionFactory} of the connection.
+     * @param channels          The number of channels to open.
+     */
+    void warmUp(final String name, final ConnectionFactory connectionFactory, final int channels) {
+        warmUps.put(name, new WarmUp(connectionFactory, channels));
+    }
+
+    /**
+     * Forgets the options of a connection removed at runtime, unless it was replaced by another connection factory
+     * since, so that the containers of a removed connection are not started again.
+     *
+     * @param name              The name of the connection.
+     * @param connectionFactory The {@link ConnectionFactory} of the connection.
+     */
+    void remove(final String name, final ConnectionFactory connectionFactory) {
+        lazyConnections.computeIfPresent(name, (key, lazyConnection)
+                -> lazyConnection.containers.connectionFactory == connectionFactory ? null : lazyConnection);
+        parallelConnections.computeIfPresent(name, (key, parallelConnection)
+                -> parallelConnection.containers.connectionFactory == connectionFactory ? null : parallelConnection);
+        warmUps.computeIfPresent(name, (key, warmUp)
+                -> warmUp.connectionFactory == connectionFactory ? null : warmUp);
+    }
+
+    /**
+     * Returns whether the listener containers of the connection are deferred until its first use, so that the
+     * connection is only opened by that use.
+     *
+     * @param name The name of the connection.
+     * @return whether the connection is lazy.
+     */
+    public boolean isLazy(final String name) {
+        return lazyConnections.containsKey(name);
+    }
+
+    /**
+     * Returns whether the listener containers of the connection are started in parallel to those of the other
+     * connections.
+     *
+     * @param name The name of the connection.
+     * @return whether the connection is started in parallel.
+     */
+    public boolean isStartedInParallel(final String name) {
+        return parallelConnections.containsKey(name);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        startParallelConnections();
+        lazyConnections.forEach((name, lazyConnection) -> {
+            if (lazyConnection.used) {
+                startLazyConnection(name, lazyConnection);
+            }
+        });
+        warmUps.forEach((name, warmUp) -> executor.execute(() -> warmUp.run(name)));
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        lazyConnections.values().forEach(lazyConnection -> lazyConnection.containers.close());
+        parallelConnections.values().forEach(parallelConnection -> parallelConnection.containers.close());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Starts the deferred containers of a lazy connection in the background, unless they are already started.
+     */
+    private void startLazyConnection(final String name, final LazyConnection lazyConnection) {
+        final List<MessageListenerContainer> containers = lazyConnection.containers.open();
+        if (!containers.isEmpty()) {
+            executor.execute(() -> startContainers(name, containers));
+        }
+    }
+
+    /**
+     * Starts the deferred containers of each connection in its own thread, and waits for each connection up to its
+     * timeout, counted from the beginning of the startup of all of them.
+     */
+    private void startParallelConnections() {
+        final long begin = System.nanoTime();
+        final Map<String, Future<?>> startups = new LinkedHashMap<>();
+        parallelConnections.forEach((name, parallelConnection) -> {
+            final List<MessageListenerContainer> containers = parallelConnection.containers.open();
+            if (!containers.isEmpty()) {
+                startups.put(name, executor.submit(() -> startContainers(name, containers)));
+            }
+        });
+        startups.forEach((name, startup) -> {
+            final Duration timeout = parallelConnections.get(name).timeout;
+            final long remaining = timeout.toNanos() - (System.nanoTime() - begin);
+            try {
+                startup.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                LOGGER.warn("Listener containers of MultiRabbitMQ broker '{}' did not start within {}, "
+                        + "they keep starting in the background", name, timeout);
+            } catch (ExecutionException ex) {
+                LOGGER.error("Failed to start the listener containers of MultiRabbitMQ broker '{}'", name,
+                        ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted while waiting for the listener containers of MultiRabbitMQ broker '{}'",
+                        name);
+            }
+        });
+    }
+
+    /**
+     * Adds a customizer to the container factory, after the one it already has, if any.
+     */
+    @SuppressWarnings("unchecked")
+    static <C extends AbstractMessageListenerContainer> void addContainerCustomizer(
+            final AbstractRabbitListenerContainerFactory<C> containerFactory,
+            final ContainerCustomizer<C> customizer) {
+        final ContainerCustomizer<C> existingCustomizer = (ContainerCustomizer<C>) new DirectFieldAccessor(
+                containerFactory).getPropertyValue("containerCustomizer");
+        containerFactory.setContainerCustomizer(existingCustomizer == null ? customizer : container -> {
+            existingCustomizer.configure(container);
+            customizer.configure(container);
+        });
+    }
+
+    /**
+     * Starts the containers of a connection one after another, so that a failing one does not prevent the others
+     * from starting.
+     */
+    private static void startContainers(final String name, final List<MessageListenerContainer> containers) {
+        final long begin = System.nanoTime();
+        for (MessageListenerContainer container : containers) {
+            try {
+                container.start();
+            } catch (RuntimeException ex) {
+                LOGGER.error("Failed to start a listener container of MultiRabbitMQ broker '{}'", name, ex);
+            }
+        }
+        LOGGER.debug("Started {} listener containers of MultiRabbitMQ broker '{}' in {} ms", containers.size(), name,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+    }
+
+    /**
+     * The listener containers of a connection deferred until they are released to be started.
+     */
+    private static final class DeferredContainers {
+
+        private final List<MessageListenerContainer> deferredContainers = new ArrayList<>();
+        private final ConnectionFactory connectionFactory;
+        private boolean opened;
+
+        private DeferredContainers(final ConnectionFactory connectionFactory) {
+            this.connectionFactory = connectionFactory;
+        }
+
+        /**
+         * Defers the container if the containers are not released.
+         */
+        private synchronized boolean defer(final MessageListenerContainer container) {
+            if (opened) {
+                return false;
+            }
+            deferredContainers.add(container);
+            return true;
+        }
+
+        /**
+         * Releases the containers and returns those to start, or none if they are already released.
+         */
+        private synchronized List<MessageListenerContainer> open() {
+            if (opened) {
+                return Collections.emptyList();
+            }
+            opened = true;
+            return new ArrayList<>(deferredContainers);
+        }
+
+        /**
+         * Defers the containers again, so that they are returned by the next release.
+         */
+        private synchronized void close() {
+            opened = false;
+        }
+    }
+
+    /**
+     * The listener containers of a lazy connection, with whether the connection was used.
+     */
+    private static final class LazyConnection {
+
+        private final DeferredContainers containers;
+        private volatile boolean used;
+
+        private LazyConnection(final ConnectionFactory connectionFactory) {
+            this.containers = new DeferredContainers(connectionFactory);
+        }
+    }
+
+    /**
+     * The listener containers of a connection started in parallel, with the time the startup waits for them.
+     */
+    private static final class ParallelConnection {
+
+        private final DeferredContainers containers;
+        private final Duration timeout;
+
+        private ParallelConnection(final ConnectionFactory connectionFactory, final Duration timeout) {
+            this.containers = new DeferredContainers(connectionFactory);
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * The warm-up of a connection.
+     */
+    private static final class WarmUp {
+
+        private final ConnectionFactory connectionFactory;
+        private final int channels;
+
+        private WarmUp(final ConnectionFactory connectionFactory, final int channels) {
+            this.connectionFactory = connectionFactory;
+            this.channels = channels;
+        }
+
+        /**
+         * Opens the connection and the channels, then releases the channels to the cache.
+         */
+        private void run(final String name) {
+            final List<Channel> openedChannels = new ArrayList<>(channels);
+            try {
+                final Connection connection = connectionFactory.createConnection();
+                for (int i = 0; i < channels; i++) {
+                    openedChannels.add(connection.createChannel(false));
+                }
+                LOGGER.debug("Warmed up {} channels of MultiRabbitMQ broker '{}'", channels, name);
+            } catch (AmqpException ex) {
+                LOGGER.warn("Failed to warm up MultiRabbitMQ broker '{}'", name, ex);
+            } finally {
+                openedChannels.forEach(RabbitUtils::closeChannel);
+            }
+        }
+    }
+}
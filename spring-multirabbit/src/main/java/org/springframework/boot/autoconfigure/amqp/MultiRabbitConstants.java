@@ -9,8 +9,16 @@ public final class MultiRabbitConstants {
     public static final String CONNECTION_FACTORY_CREATOR_BEAN_NAME = "rabbitConnectionFactoryCreator";
     public static final String DEFAULT_RABBIT_ADMIN_BEAN_NAME = "amqpAdmin";
     public static final String RABBIT_ADMIN_SUFFIX = "-admin";
+    public static final String CONNECTION_STARTER_BEAN_NAME = "multiRabbitConnectionStarter";
+    public static final String RABBIT_TEMPLATES_BEAN_NAME = "multiRabbitTemplates";
+    public static final String REGISTRY_BEAN_NAME = "multiRabbitRegistry";
     public static final String DEFAULT_CONTAINER_FACTORY_BEAN_NAME = "rabbitListenerContainerFactory";
     public static final String MULTI_RABBIT_ENABLED_PROPERTY = "spring.multirabbitmq.enabled";
+    public static final String MULTI_RABBIT_GROUPS_PROPERTY = "spring.multirabbitmq.groups";
+    public static final String GROUP_CONTAINER_FACTORY_PREFIX = "group:";
+    public static final String INSTANTIATE_CONNECTIONS_STARTUP_STEP = "multirabbit.connections.instantiate";
+    public static final String REGISTER_BEANS_STARTUP_STEP = "multirabbit.beans.register";
+    public static final String PROCESS_LISTENER_STARTUP_STEP = "multirabbit.listener.process";
 
     private MultiRabbitConstants() {
     }
@@ -0,0 +1,236 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * The groups of MultiRabbit connections sharing the load of a topic. Each message is sent to one member of its group,
+ * chosen by consistent hashing of its key: the members are spread over a hash ring with a number of virtual nodes each,
+ * and a key belongs to the first member found clockwise from its own hash. The keys are then spread evenly over the
+ * members, and only the keys of a member joining or leaving the group move.
+ * <p>
+ * The key of a message is the value of the key header of the group, if set, or its routing key.
+ * <p>
+ * A connection removed at runtime leaves the groups it is a member of, and its keys move to the remaining members. The
+ * last member of a group cannot be removed.
+ *
+ * @author Wander Costa
+ */
+public class MultiRabbitGroups {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiRabbitGroups.class);
+
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+    private final MultiRabbitTemplates templates;
+
+    /**
+     * Creates the groups of connections.
+     *
+     * @param templates The templates of the connections.
+     * @param groups    The configuration of the groups, by name.
+     * @throws IllegalArgumentException if a group has no members, or a member does not exist.
+     */
+    public MultiRabbitGroups(final MultiRabbitTemplates templates,
+                             final Map<String, MultiRabbitProperties.Group> groups) {
+        this.templates = templates;
+        groups.forEach(this::update);
+    }
+
+    /**
+     * Adds or replaces a group. The keys of the members kept in the group keep being routed to them, except for the
+     * ones now owned by the new members.
+     *
+     * @param name  The name of the group.
+     * @param group The configuration of the group.
+     * @throws IllegalArgumentException if the group has no members, or a member does not exist.
+     */
+    public synchronized void update(final String name, final MultiRabbitProperties.Group group) {
+        if (group.getMembers() == null || group.getMembers().isEmpty()) {
+            final String msg = String.format("MultiRabbitMQ group '%s' has no members", name);
+            LOGGER.error(msg);
+            throw new IllegalArgumentException(msg);
+        }
+        for (String member : group.getMembers()) {
+            if (!templates.getTemplates().containsKey(member)) {
+                final String msg = String.format("MultiRabbitMQ group '%s' member '%s' does not exist in "
+                        + "configuration", name, member);
+                LOGGER.error(msg);
+                throw new IllegalArgumentException(msg);
+            }
+        }
+        Assert.isTrue(group.getVirtualNodes() > 0, "Virtual nodes must be positive");
+        rings.put(name, new Ring(group.getMembers(), group.getVirtualNodes(), group.getKeyHeader()));
+    }
+
+    /**
+     * Removes a connection from the groups it is a member of. Only its keys move, to the remaining members of each
+     * group.
+     *
+     * @param member The name of the connection.
+     * @throws IllegalArgumentException if the connection is the last member of a group, in which case no group is
+     *                                  changed.
+     */
+    public synchronized void removeMember(final String member) {
+        rings.forEach((name, ring) -> {
+            if (ring.members.size() == 1 && ring.members.contains(member)) {
+                final String msg = String.format("MultiRabbitMQ broker '%s' is the last member of group '%s' and "
+                        + "cannot be removed", member, name);
+                LOGGER.error(msg);
+                throw new IllegalArgumentException(msg);
+            }
+        });
+        rings.replaceAll((name, ring) -> ring.members.contains(member) ? ring.without(member) : ring);
+    }
+
+    /**
+     * Returns the members of a group.
+     *
+     * @param name The name of the group.
+     * @return the names of the connections of the group.
+     * @throws IllegalArgumentException if there is no group with the given name.
+     */
+    public List<String> getMembers(final String name) {
+        return ring(name).members;
+    }
+
+    /**
+     * Returns the names of the groups.
+     *
+     * @return the names of the groups.
+     */
+    public List<String> getGroupNames() {
+        return new ArrayList<>(rings.keySet());
+    }
+
+    /**
+     * Returns the member of a group owning the given key.
+     *
+     * @param name The name of the group.
+     * @param key  The key.
+     * @return the name of the connection owning the key.
+     * @throws IllegalArgumentException if there is no group with the given name.
+     */
+    public String route(final String name, final String key) {
+        return ring(name).locate(key);
+    }
+
+    /**
+     * Returns the member of a group owning the key of the message, which is the value of the key header of the group,
+     * if set, or the routing key.
+     *
+     * @param name       The name of the group.
+     * @param routingKey The routing key.
+     * @param message    The message.
+     * @return the name of the connection owning the key of the message.
+     * @throws IllegalArgumentException if there is no group with the given name.
+     */
+    public String route(final String name, final String routingKey, final Message message) {
+        final Ring ring = ring(name);
+        if (ring.keyHeader == null) {
+            return ring.locate(routingKey);
+        }
+        final Object key = message.getMessageProperties().getHeader(ring.keyHeader);
+        return ring.locate(key != null ? key.toString() : routingKey);
+    }
+
+    /**
+     * Sends a message to the member of a group owning its key, with the template of the member.
+     *
+     * @param name       The name of the group.
+     * @param exchange   The exchange.
+     * @param routingKey The routing key.
+     * @param message    The message.
+     * @return the name of the connection the message was sent to.
+     * @throws IllegalArgumentException if there is no group with the given name.
+     */
+    public String send(final String name, final String exchange, final String routingKey, final Message message) {
+        final String member = route(name, routingKey, message);
+        templates.get(member).send(exchange, routingKey, message);
+        return member;
+    }
+
+    private Ring ring(final String name) {
+        final Ring ring = name != null ? rings.get(name) : null;
+        if (ring == null) {
+            throw new IllegalArgumentException(
+                    String.format("MultiRabbitMQ group '%s' does not exist in configuration", name));
+        }
+        return ring;
+    }
+
+    /**
+     * Returns the 64-bit hash of a string, as FNV-1a over its characters followed by the finalizer of MurmurHash3, so
+     * that similar strings, like the virtual nodes of a member, are spread over the whole ring.
+     */
+    static long hash(final String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * The hash ring of a group, as sorted arrays of the points and of their members, to locate a key with a binary
+     * search and no allocation.
+     */
+    private static final class Ring {
+
+        private final List<String> members;
+        private final int virtualNodes;
+        private final String keyHeader;
+        private final long[] points;
+        private final String[] owners;
+
+        private Ring(final List<String> members, final int virtualNodes, final String keyHeader) {
+            this.members = Collections.unmodifiableList(new ArrayList<>(members));
+            this.virtualNodes = virtualNodes;
+            this.keyHeader = StringUtils.hasText(keyHeader) ? keyHeader : null;
+            final TreeMap<Long, String> ring = new TreeMap<>();
+            for (String member : members) {
+                for (int i = 0; i < virtualNodes; i++) {
+                    // on a collision, the point is kept by the smallest member, regardless of their order
+                    ring.merge(hash(member + "#" + i), member, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+                }
+            }
+            this.points = new long[ring.size()];
+            this.owners = new String[ring.size()];
+            int i = 0;
+            for (Map.Entry<Long, String> point : ring.entrySet()) {
+                points[i] = point.getKey();
+                owners[i++] = point.getValue();
+            }
+        }
+
+        private Ring without(final String member) {
+            final List<String> remaining = new ArrayList<>(members);
+            remaining.remove(member);
+            return new Ring(remaining, virtualNodes, keyHeader);
+        }
+
+        private String locate(final String key) {
+            int index = Arrays.binarySearch(points, hash(key != null ? key : ""));
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return owners[index == points.length ? 0 : index];
+        }
+    }
+}
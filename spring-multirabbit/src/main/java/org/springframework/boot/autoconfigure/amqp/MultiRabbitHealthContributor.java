@@ -0,0 +1,191 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.actuate.amqp.RabbitHealthIndicator;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * A {@link CompositeHealthContributor} with the health of each connection of the
+ * {@link MultiRabbitRoutingConnectionFactory}, probed as {@link RabbitHealthIndicator} does. The health of a
+ * connection is cached for a time to live, so frequent health checks do not open channels on all brokers each time.
+ * When the health of a connection expires, all expired connections are probed concurrently in the background, and
+ * each connection waits for its own probe up to a timeout, after which it is reported as down. A probe that takes
+ * longer keeps running and updates the cache when it completes, but is not started again meanwhile.
+ * <p>
+ * A lazy connection is not probed until it is opened by its first use, since the probe would open it. Until then, it
+ * is reported as unknown.
+ *
+ * @author Wander Costa
+ */
+public class MultiRabbitHealthContributor implements CompositeHealthContributor {
+
+    private final MultiRabbitRoutingConnectionFactory connectionFactory;
+    private final long timeToLiveNanos;
+    private final Duration timeout;
+    private final Predicate<String> lazy;
+    private final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("multirabbit-health-");
+    private final ConcurrentMap<String, CachedHealthIndicator> indicators = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the contributor of the connections of the routing connection factory.
+     *
+     * @param connectionFactory The routing connection factory.
+     * @param timeToLive        The time the health of a connection is cached.
+     * @param timeout           The maximum time to wait for the probe of a connection.
+     */
+    public MultiRabbitHealthContributor(final MultiRabbitRoutingConnectionFactory connectionFactory,
+                                        final Duration timeToLive,
+                                        final Duration timeout) {
+        this(connectionFactory, timeToLive, timeout, name -> false);
+    }
+
+    /**
+     * Creates the contributor of the connections of the routing connection factory.
+     *
+     * @param connectionFactory The routing connection factory.
+     * @param timeToLive        The time the health of a connection is cached.
+     * @param timeout           The maximum time to wait for the probe of a connection.
+     * @param lazy              Whether a connection is lazy, by name, so that it is not probed until opened.
+     */
+    public MultiRabbitHealthContributor(final MultiRabbitRoutingConnectionFactory connectionFactory,
+                                        final Duration timeToLive,
+                                        final Duration timeout,
+                                        final Predicate<String> lazy) {
+        this.connectionFactory = connectionFactory;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.timeout = timeout;
+        this.lazy = lazy;
+        this.executor.setDaemon(true);
+    }
+
+    @Override
+    public HealthContributor getContributor(final String name) {
+        final ConnectionFactory target = connectionFactory.getTargetConnectionFactories().get(name);
+        return target != null ? indicator(name, target) : null;
+    }
+
+    @Override
+    public Iterator<NamedContributor<HealthContributor>> iterator() {
+        final Map<Object, ConnectionFactory> targets = connectionFactory.getTargetConnectionFactories();
+        indicators.keySet().retainAll(targets.keySet().stream().map(Object::toString).collect(Collectors.toSet()));
+        return targets.entrySet().stream()
+                .map(entry -> NamedContributor.<HealthContributor>of(entry.getKey().toString(),
+                        indicator(entry.getKey().toString(), entry.getValue())))
+                .iterator();
+    }
+
+    /**
+     * Returns the indicator of a connection, replacing it if the connection factory of the name changed.
+     */
+    private CachedHealthIndicator indicator(final String name, final ConnectionFactory target) {
+        return indicators.compute(name, (key, indicator) -> indicator != null && indicator.target == target
+                ? indicator
+                : new CachedHealthIndicator(target, lazy.test(name)));
+    }
+
+    /**
+     * Starts the probes of all opened connections whose health expired.
+     */
+    private void probeExpired() {
+        connectionFactory.getTargetConnectionFactories().forEach((name, target) -> {
+            final CachedHealthIndicator indicator = indicator(name.toString(), target);
+            if (indicator.opened) {
+                indicator.probeIfExpired();
+            }
+        });
+    }
+
+    /**
+     * The cached health of a connection.
+     */
+    private final class CachedHealthIndicator implements HealthIndicator, ConnectionListener {
+
+        private final ConnectionFactory target;
+        private final HealthIndicator delegate;
+        private volatile boolean opened = true;
+        private volatile Health health;
+        private volatile long probedAt;
+        private CompletableFuture<Health> probe;
+
+        private CachedHealthIndicator(final ConnectionFactory target, final boolean lazy) {
+            this.target = target;
+            this.delegate = new RabbitHealthIndicator(new RabbitTemplate(target));
+            if (lazy) {
+                this.opened = false;
+                // notified at once if the connection is already open
+                target.addConnectionListener(this);
+            }
+        }
+
+        @Override
+        public void onCreate(final Connection connection) {
+            opened = true;
+        }
+
+        @Override
+        public Health health() {
+            if (!opened) {
+                return Health.unknown().withDetail("lazy", true).withDetail("opened", false).build();
+            }
+            final Health cached = health;
+            if (cached != null && System.nanoTime() - probedAt < timeToLiveNanos) {
+                return cached;
+            }
+            probeExpired();
+            try {
+                return currentProbe().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                return Health.down().withDetail("error", "Timed out after " + timeout.toMillis() + " ms").build();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return Health.down(ex).build();
+            } catch (ExecutionException ex) {
+                return Health.down().withException(ex.getCause()).build();
+            }
+        }
+
+        /**
+         * Returns the probe just started for the expired health, without checking the expiration again, as a probe
+         * completed meanwhile may already be expired when the time to live is short.
+         */
+        private synchronized CompletableFuture<Health> currentProbe() {
+            return probe != null ? probe : probeIfExpired();
+        }
+
+        /**
+         * Returns the ongoing probe, or starts a new one if the health expired and no probe is running.
+         */
+        private synchronized CompletableFuture<Health> probeIfExpired() {
+            final boolean expired = health == null || System.nanoTime() - probedAt >= timeToLiveNanos;
+            if (probe == null || (probe.isDone() && expired)) {
+                probe = CompletableFuture.supplyAsync(delegate::health, executor).whenComplete((result, ex) -> {
+                    if (result != null) {
+                        probedAt = System.nanoTime();
+                        health = result;
+                    }
+                });
+            }
+            return probe;
+        }
+    }
+}
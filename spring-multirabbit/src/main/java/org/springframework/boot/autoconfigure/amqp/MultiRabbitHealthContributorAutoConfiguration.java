@@ -0,0 +1,49 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Class responsible for auto-configuring the health contributor of the MultiRabbit connections, when Spring Boot
+ * Actuator is available. It can be disabled with {@code management.health.multirabbit.enabled=false}.
+ *
+ * @author Wander Costa
+ */
+@Configuration
+@AutoConfigureAfter(MultiRabbitAutoConfiguration.class)
+@ConditionalOnClass(HealthContributor.class)
+@ConditionalOnProperty(prefix = "spring.multirabbitmq", name = "enabled", havingValue = "true")
+public class MultiRabbitHealthContributorAutoConfiguration {
+
+    /**
+     * Returns the health contributor of the connections of the routing connection factory.
+     *
+     * @param connectionFactory     The routing connection factory.
+     * @param multiRabbitProperties The additional rabbit properties.
+     * @param connectionStarter     The starter of the connections, which knows the lazy ones.
+     * @return the health contributor.
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "multiRabbitHealthContributor")
+    @ConditionalOnProperty(prefix = "management.health.multirabbit", name = "enabled", matchIfMissing = true)
+    public HealthContributor multiRabbitHealthContributor(
+            final ConnectionFactory connectionFactory,
+            final MultiRabbitProperties multiRabbitProperties,
+            final ObjectProvider<MultiRabbitConnectionStarter> connectionStarter) {
+        if (!(connectionFactory instanceof MultiRabbitRoutingConnectionFactory)) {
+            throw new IllegalStateException(String.format("MultiRabbitMQ health requires a %s, but found %s",
+                    MultiRabbitRoutingConnectionFactory.class.getSimpleName(), connectionFactory.getClass().getName()));
+        }
+        final MultiRabbitProperties.Health health = multiRabbitProperties.getHealth();
+        final MultiRabbitConnectionStarter starter = connectionStarter.getIfAvailable();
+        return new MultiRabbitHealthContributor((MultiRabbitRoutingConnectionFactory) connectionFactory,
+                health.getTimeToLive(), health.getTimeout(), name -> starter != null && starter.isLazy(name));
+    }
+}
@@ -0,0 +1,130 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.amqp.rabbit.connection.AbstractConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * Registers the Micrometer meters of the MultiRabbit connections, tagged with their names, so that the broker
+ * slowing down an application can be told apart from the others. For each connection, there are the meters of the
+ * RabbitMQ client (connections, channels, published, consumed and acknowledged messages), the number of consumers,
+ * the latency of acknowledgements and the number of idle channels in the cache. The templates of
+ * {@link MultiRabbitTemplates} also measure the latency of publishes and the time waited to check out a channel,
+ * telling the hits of the channel cache from the misses.
+ *
+ * @author Wander Costa
+ */
+public class MultiRabbitMetrics {
+
+    static final String METER_REGISTRY_CLASS_NAME = "io.micrometer.core.instrument.MeterRegistry";
+    static final String METRICS_PREFIX = "rabbitmq";
+    static final String NAME_TAG = "name";
+    static final String DEFAULT_CONNECTION_NAME = "";
+
+    private final Map<String, ConnectionFactory> boundConnectionFactories = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    /**
+     * Creates the metrics of connections, registered in the given registry.
+     *
+     * @param registry The registry of meters.
+     */
+    public MultiRabbitMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registers the meters of the target connection factories of the routing connection factory, and of the default
+     * one if it is not a target, tagged with an empty name, which no connection can have.
+     *
+     * @param connectionFactory The routing connection factory.
+     */
+    public void bindTo(final MultiRabbitRoutingConnectionFactory connectionFactory) {
+        connectionFactory.getTargetConnectionFactories()
+                .forEach((name, targetConnectionFactory) -> bindTo(name.toString(), targetConnectionFactory));
+        final ConnectionFactory defaultConnectionFactory = connectionFactory.getDefaultTargetConnectionFactory();
+        if (defaultConnectionFactory != null
+                && !connectionFactory.getTargetConnectionFactories().containsValue(defaultConnectionFactory)) {
+            bindTo(DEFAULT_CONNECTION_NAME, defaultConnectionFactory);
+        }
+    }
+
+    /**
+     * Registers the meters of a connection factory, replacing those of the connection factory previously bound with
+     * the same name, which would otherwise keep measuring it. Only connections opened afterwards are measured by the
+     * client.
+     *
+     * @param name              The name of the connection.
+     * @param connectionFactory The connection factory of the connection.
+     */
+    public void bindTo(final String name, final ConnectionFactory connectionFactory) {
+        if (!(connectionFactory instanceof AbstractConnectionFactory)) {
+            return;
+        }
+        removeMeters(name);
+        boundConnectionFactories.put(name, connectionFactory);
+        final Tags tags = Tags.of(NAME_TAG, name);
+        final AbstractConnectionFactory abstractConnectionFactory = (AbstractConnectionFactory) connectionFactory;
+        abstractConnectionFactory.getRabbitConnectionFactory()
+                .setMetricsCollector(new MultiRabbitMetricsCollector(registry, METRICS_PREFIX, tags));
+        abstractConnectionFactory.addChannelListener((channel, transactional)
+                -> TimedRabbitTemplate.markChannelCreated());
+        if (connectionFactory instanceof CachingConnectionFactory) {
+            Gauge.builder(METRICS_PREFIX + ".channels.idle", (CachingConnectionFactory) connectionFactory,
+                            MultiRabbitMetrics::idleChannels)
+                    .description("The number of idle channels in the cache of the connection")
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Removes the meters of a connection factory, unless another one was bound with the same name since.
+     *
+     * @param name              The name of the connection.
+     * @param connectionFactory The connection factory of the connection.
+     */
+    public void unbind(final String name, final ConnectionFactory connectionFactory) {
+        if (boundConnectionFactories.remove(name, connectionFactory)) {
+            removeMeters(name);
+        }
+    }
+
+    /**
+     * Returns a {@link RabbitTemplate} which measures its publishes and channel checkouts.
+     *
+     * @param name The name of the connection of the template.
+     * @return the {@link RabbitTemplate}.
+     */
+    public RabbitTemplate newRabbitTemplate(final String name) {
+        return new TimedRabbitTemplate(registry, METRICS_PREFIX, Tags.of(NAME_TAG, name));
+    }
+
+    /**
+     * Removes the meters of a connection, including those of its template.
+     */
+    private void removeMeters(final String name) {
+        registry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith(METRICS_PREFIX + ".")
+                        && name.equals(meter.getId().getTag(NAME_TAG)))
+                .forEach(registry::remove);
+    }
+
+    /**
+     * Returns the number of idle channels of the cache, summing those of all connections in connection cache mode.
+     */
+    private static double idleChannels(final CachingConnectionFactory connectionFactory) {
+        final Properties cacheProperties = connectionFactory.getCacheProperties();
+        return cacheProperties.stringPropertyNames().stream()
+                .filter(key -> key.startsWith("idleChannels") && !key.contains("HighWater"))
+                .mapToInt(key -> Integer.parseInt(cacheProperties.getProperty(key)))
+                .sum();
+    }
+}
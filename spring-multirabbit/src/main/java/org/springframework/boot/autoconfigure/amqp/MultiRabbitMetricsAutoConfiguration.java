@@ -0,0 +1,46 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Class responsible for auto-configuring the Micrometer meters of the MultiRabbit connections, when a
+ * {@link MeterRegistry} is available.
+ *
+ * @author Wander Costa
+ */
+@Configuration
+@AutoConfigureAfter(value = MultiRabbitAutoConfiguration.class, name = {
+        "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration"})
+@ConditionalOnClass({MeterRegistry.class, ConnectionFactory.class})
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "spring.multirabbitmq", name = "enabled", havingValue = "true")
+public class MultiRabbitMetricsAutoConfiguration {
+
+    /**
+     * Returns the metrics of the connections, bound to the connection factories of the routing connection factory.
+     *
+     * @param connectionFactory The routing connection factory.
+     * @param meterRegistry     The registry of meters.
+     * @return the metrics of the connections.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public MultiRabbitMetrics multiRabbitMetrics(final ConnectionFactory connectionFactory,
+                                                 final MeterRegistry meterRegistry) {
+        final MultiRabbitMetrics metrics = new MultiRabbitMetrics(meterRegistry);
+        if (connectionFactory instanceof MultiRabbitRoutingConnectionFactory) {
+            metrics.bindTo((MultiRabbitRoutingConnectionFactory) connectionFactory);
+        }
+        return metrics;
+    }
+}
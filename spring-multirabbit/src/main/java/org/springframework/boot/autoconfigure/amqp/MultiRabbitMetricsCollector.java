@@ -0,0 +1,151 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.impl.MicrometerMetricsCollector;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link MicrometerMetricsCollector} of a single connection, which also measures the number of consumers and the
+ * time between the delivery of a message and its acknowledgement.
+ *
+ * @author Wander Costa
+ */
+final class MultiRabbitMetricsCollector extends MicrometerMetricsCollector {
+
+    private final AtomicLong consumers = new AtomicLong();
+    private final ConcurrentMap<Channel, ChannelState> channelStates = new ConcurrentHashMap<>();
+    private final Timer acknowledgementLatency;
+
+    /**
+     * Creates a collector which registers its meters with the given prefix and tags.
+     *
+     * @param registry The registry of meters.
+     * @param prefix   The prefix of the meters.
+     * @param tags     The tags of the meters.
+     */
+    MultiRabbitMetricsCollector(final MeterRegistry registry, final String prefix, final Iterable<Tag> tags) {
+        super(registry, prefix, tags);
+        Gauge.builder(prefix + ".consumers", consumers, AtomicLong::get)
+                .description("The number of consumers of the connection")
+                .tags(tags)
+                .register(registry);
+        this.acknowledgementLatency = Timer.builder(prefix + ".acknowledged.latency")
+                .description("The time between the delivery of a message and its acknowledgement")
+                .tags(tags)
+                .register(registry);
+    }
+
+    @Override
+    public void basicConsume(final Channel channel, final String consumerTag, final boolean autoAck) {
+        super.basicConsume(channel, consumerTag, autoAck);
+        if (channelState(channel).consumers.put(consumerTag, autoAck) == null) {
+            consumers.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void basicCancel(final Channel channel, final String consumerTag) {
+        super.basicCancel(channel, consumerTag);
+        final ChannelState state = channelStates.get(channel);
+        if (state != null && state.consumers.remove(consumerTag) != null) {
+            consumers.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void consumedMessage(final Channel channel, final long deliveryTag, final boolean autoAck) {
+        super.consumedMessage(channel, deliveryTag, autoAck);
+        if (!autoAck) {
+            channelState(channel).deliveries.put(deliveryTag, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void consumedMessage(final Channel channel, final long deliveryTag, final String consumerTag) {
+        super.consumedMessage(channel, deliveryTag, consumerTag);
+        final ChannelState state = channelStates.get(channel);
+        if (state != null && Boolean.FALSE.equals(state.consumers.get(consumerTag))) {
+            state.deliveries.put(deliveryTag, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void basicAck(final Channel channel, final long deliveryTag, final boolean multiple) {
+        super.basicAck(channel, deliveryTag, multiple);
+        final ChannelState state = channelStates.get(channel);
+        if (state == null) {
+            return;
+        }
+        final long now = System.nanoTime();
+        if (multiple) {
+            final NavigableMap<Long, Long> acknowledged = state.deliveries.headMap(deliveryTag, true);
+            acknowledged.values().forEach(start -> acknowledgementLatency.record(now - start, TimeUnit.NANOSECONDS));
+            acknowledged.clear();
+        } else {
+            final Long start = state.deliveries.remove(deliveryTag);
+            if (start != null) {
+                acknowledgementLatency.record(now - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void basicNack(final Channel channel, final long deliveryTag) {
+        super.basicNack(channel, deliveryTag);
+        removeDelivery(channel, deliveryTag);
+    }
+
+    @Override
+    public void basicReject(final Channel channel, final long deliveryTag) {
+        super.basicReject(channel, deliveryTag);
+        removeDelivery(channel, deliveryTag);
+    }
+
+    @Override
+    public void closeChannel(final Channel channel) {
+        super.closeChannel(channel);
+        final ChannelState state = channelStates.remove(channel);
+        if (state != null) {
+            consumers.addAndGet(-state.consumers.size());
+        }
+    }
+
+    /**
+     * Returns the number of consumers of the connection.
+     *
+     * @return the number of consumers.
+     */
+    long getConsumers() {
+        return consumers.get();
+    }
+
+    private void removeDelivery(final Channel channel, final long deliveryTag) {
+        final ChannelState state = channelStates.get(channel);
+        if (state != null) {
+            state.deliveries.remove(deliveryTag);
+        }
+    }
+
+    private ChannelState channelState(final Channel channel) {
+        return channelStates.computeIfAbsent(channel, key -> new ChannelState());
+    }
+
+    /**
+     * The consumers (and whether they acknowledge automatically) and the pending deliveries of a channel.
+     */
+    private static final class ChannelState {
+
+        private final Map<String, Boolean> consumers = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<Long, Long> deliveries = new ConcurrentSkipListMap<>();
+    }
+}
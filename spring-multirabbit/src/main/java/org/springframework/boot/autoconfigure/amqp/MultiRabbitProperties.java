@@ -4,7 +4,11 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.lang.Nullable;
 
 import javax.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -33,6 +37,47 @@ public class MultiRabbitProperties {
      */
     private Map<String, RabbitProperties> connections = new HashMap<>();
 
+    /**
+     * The groups of connections sharing the load of a topic, by name.
+     */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    /**
+     * The maximum number of connections initialized in parallel at startup. Connections are initialized one at a
+     * time by default.
+     */
+    private int initializationParallelism = 1;
+
+    /**
+     * Time a connection removed or replaced at runtime keeps serving the channels in use before being closed.
+     */
+    private Duration drainPeriod = Duration.ofSeconds(5);
+
+    /**
+     * The declaration of Exchanges, Queues and Bindings by the admins of the connections.
+     */
+    private final Declarations declarations = new Declarations();
+
+    /**
+     * The executor shared with the listener containers of all connections.
+     */
+    private final SharedExecutor sharedExecutor = new SharedExecutor();
+
+    /**
+     * The use of virtual threads by the listener containers of all connections.
+     */
+    private final VirtualThreadsProperties virtualThreads = new VirtualThreadsProperties();
+
+    /**
+     * The health checks of the connections.
+     */
+    private final Health health = new Health();
+
+    /**
+     * The startup of the listener containers of the connections in parallel.
+     */
+    private final ParallelStartup parallelStartup = new ParallelStartup();
+
     /**
      * Returns the default {@link RabbitProperties}.
      *
@@ -72,6 +117,25 @@ public class MultiRabbitProperties {
         this.connections = Optional.ofNullable(connections).orElse(new HashMap<>());
     }
 
+    /**
+     * Returns the groups of connections sharing the load of a topic, by name.
+     *
+     * @return the groups of connections.
+     */
+    public Map<String, Group> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Defines the groups of connections sharing the load of a topic, falling back to a new {@link LinkedHashMap} if
+     * null is provided.
+     *
+     * @param groups The groups of connections.
+     */
+    public void setGroups(@Nullable final Map<String, Group> groups) {
+        this.groups = Optional.ofNullable(groups).orElse(new LinkedHashMap<>());
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -79,4 +143,324 @@ public class MultiRabbitProperties {
     public void setEnabled(final boolean enabled) {
         this.enabled = enabled;
     }
+
+    /**
+     * Returns the maximum number of connections initialized in parallel at startup.
+     *
+     * @return the maximum number of connections initialized in parallel.
+     */
+    public int getInitializationParallelism() {
+        return initializationParallelism;
+    }
+
+    /**
+     * Defines the maximum number of connections initialized in parallel at startup.
+     *
+     * @param initializationParallelism The maximum number of connections initialized in parallel.
+     */
+    public void setInitializationParallelism(final int initializationParallelism) {
+        this.initializationParallelism = initializationParallelism;
+    }
+
+    /**
+     * Returns the time a connection removed or replaced at runtime keeps serving the channels in use.
+     *
+     * @return the drain period.
+     */
+    public Duration getDrainPeriod() {
+        return drainPeriod;
+    }
+
+    /**
+     * Defines the time a connection removed or replaced at runtime keeps serving the channels in use.
+     *
+     * @param drainPeriod The drain period.
+     */
+    public void setDrainPeriod(final Duration drainPeriod) {
+        this.drainPeriod = drainPeriod;
+    }
+
+    /**
+     * Returns the configuration of the declaration of Exchanges, Queues and Bindings by the admins of the connections.
+     *
+     * @return the configuration of the declarations.
+     */
+    public Declarations getDeclarations() {
+        return declarations;
+    }
+
+    /**
+     * Returns the configuration of the executor shared with the listener containers of all connections.
+     *
+     * @return the configuration of the shared executor.
+     */
+    public SharedExecutor getSharedExecutor() {
+        return sharedExecutor;
+    }
+
+    /**
+     * Returns the configuration of the use of virtual threads by the listener containers of all connections.
+     *
+     * @return the configuration of the use of virtual threads.
+     */
+    public VirtualThreadsProperties getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Returns the configuration of the health checks of the connections.
+     *
+     * @return the configuration of the health checks.
+     */
+    public Health getHealth() {
+        return health;
+    }
+
+    /**
+     * Returns the configuration of the startup of the listener containers of the connections in parallel.
+     *
+     * @return the configuration of the parallel startup.
+     */
+    public ParallelStartup getParallelStartup() {
+        return parallelStartup;
+    }
+
+    /**
+     * Configuration of the executor shared with the listener containers of all connections, as an alternative to
+     * one set of consumer threads per container.
+     */
+    public static class SharedExecutor {
+
+        /**
+         * Enables a single executor for the listener containers of all connections.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of threads of the shared executor. Each listener container reserves the threads of its
+         * consumers in it, and the startup fails if the threads reserved by all containers exceed it.
+         */
+        private int maxSize = 256;
+
+        /**
+         * Time an idle thread is kept alive before being released.
+         */
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        /**
+         * Prefix of the names of the threads of the shared executor.
+         */
+        private String threadNamePrefix = "multirabbit-";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(final int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(final Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public String getThreadNamePrefix() {
+            return threadNamePrefix;
+        }
+
+        public void setThreadNamePrefix(final String threadNamePrefix) {
+            this.threadNamePrefix = threadNamePrefix;
+        }
+    }
+
+    /**
+     * Configuration of the use of virtual threads (Java 21 or later) by the listener containers of all connections.
+     */
+    public static class VirtualThreadsProperties {
+
+        /**
+         * Enables virtual threads for the listener containers of all connections. When combined with the shared
+         * executor, it becomes an executor of virtual threads limited to its max-size.
+         */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Configuration of the declaration of Exchanges, Queues and Bindings by the admins of the connections.
+     */
+    public static class Declarations {
+
+        /**
+         * Declares in batches pipelined over a few channels, instead of one at a time.
+         */
+        private boolean batched = false;
+
+        /**
+         * The number of channels declaring in parallel per connection, when declaring in batches.
+         */
+        private int channels = 4;
+
+        /**
+         * Caches the declarations when declaring in batches, so that on reconnection only the items missing in the
+         * broker are declared again, as long as the declarables did not change.
+         */
+        private boolean cache = false;
+
+        public boolean isBatched() {
+            return batched;
+        }
+
+        public void setBatched(final boolean batched) {
+            this.batched = batched;
+        }
+
+        public int getChannels() {
+            return channels;
+        }
+
+        public void setChannels(final int channels) {
+            this.channels = channels;
+        }
+
+        public boolean isCache() {
+            return cache;
+        }
+
+        public void setCache(final boolean cache) {
+            this.cache = cache;
+        }
+    }
+
+    /**
+     * Configuration of the health checks of the connections, which are probed concurrently and cached.
+     */
+    public static class Health {
+
+        /**
+         * Time the health of a connection is cached before it is probed again.
+         */
+        private Duration timeToLive = Duration.ofSeconds(10);
+
+        /**
+         * Maximum time to wait for the probe of a connection, after which it is reported as down.
+         */
+        private Duration timeout = Duration.ofSeconds(2);
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(final Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(final Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * Configuration of the startup of the listener containers grouped by connection, each group in parallel to the
+     * others, so that a slow or unreachable broker does not delay the consumption from the other ones.
+     */
+    public static class ParallelStartup {
+
+        /**
+         * Starts the listener containers of each connection in parallel to those of the other connections, once the
+         * context is started.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum time the startup of the context waits for the listener containers of each connection, after which
+         * they keep starting in the background.
+         */
+        private Duration timeout = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(final Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * Configuration of a group of connections sharing the load of a topic, each message being sent to one of the
+     * members chosen by consistent hashing of its key.
+     */
+    public static class Group {
+
+        /**
+         * The names of the connections of the group.
+         */
+        private List<String> members = new ArrayList<>();
+
+        /**
+         * The name of the message header whose value is the key of the message. The routing key is used by default.
+         */
+        private String keyHeader;
+
+        /**
+         * The number of points of each member on the hash ring. More points spread the keys more evenly.
+         */
+        private int virtualNodes = 256;
+
+        public List<String> getMembers() {
+            return members;
+        }
+
+        public void setMembers(final List<String> members) {
+            this.members = members;
+        }
+
+        public String getKeyHeader() {
+            return keyHeader;
+        }
+
+        public void setKeyHeader(final String keyHeader) {
+            this.keyHeader = keyHeader;
+        }
+
+        public int getVirtualNodes() {
+            return virtualNodes;
+        }
+
+        public void setVirtualNodes(final int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+        }
+    }
 }
@@ -0,0 +1,262 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.MessagePropertiesBuilder;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.connection.CorrelationData.Confirm;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Publishes to a MultiRabbit connection by its name, without context binding, and completes asynchronously with the
+ * confirm of the broker. The publishes are pipelined over the cached channels of the connection, which are in confirm
+ * mode, and the broker acknowledges them in batches. Their confirms are correlated back to each publish, so the
+ * publisher does not wait for the broker per message.
+ * <p>
+ * The connection must be set with {@code publisher-confirm-type: correlated}. When the template of the connection is
+ * mandatory, a message returned as unroutable completes with a negative {@link Confirm}, whose reason holds the reply
+ * of the broker.
+ * <p>
+ * A message can also be broadcast to several (or all) connections at once, each publish running concurrently on the
+ * executor of the publisher. A connection without correlated publisher confirms is not published to, since its
+ * publishes could not be told from acknowledged ones, and fails the future of the publish, as with a single send.
+ *
+ * @author Wander Costa
+ */
+public class MultiRabbitPublisher implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiRabbitPublisher.class);
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final MultiRabbitTemplates templates;
+    private final MessageConverter messageConverter;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final String correlationPrefix = UUID.randomUUID() + "-";
+    private final AtomicLong correlationSequence = new AtomicLong();
+
+    /**
+     * Creates a new publisher, converting with a {@link SimpleMessageConverter} and broadcasting on its own threads,
+     * one per connection.
+     *
+     * @param templates The templates of the connections.
+     */
+    public MultiRabbitPublisher(final MultiRabbitTemplates templates) {
+        this(templates, new SimpleMessageConverter(), null);
+    }
+
+    /**
+     * Creates a new publisher.
+     *
+     * @param templates        The templates of the connections.
+     * @param messageConverter The {@link MessageConverter} of the broadcast objects.
+     * @param executor         The {@link Executor} of the publishes of a broadcast. If null, the publisher broadcasts
+     *                         on its own threads, one per connection known when created, which are released when
+     *                         idle or destroyed. The publishes beyond them are queued.
+     */
+    public MultiRabbitPublisher(final MultiRabbitTemplates templates,
+                                final MessageConverter messageConverter,
+                                final Executor executor) {
+        this.templates = templates;
+        this.messageConverter = messageConverter;
+        if (executor != null) {
+            this.executor = executor;
+            this.ownedExecutor = null;
+        } else {
+            final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("multirabbit-publisher-");
+            threadFactory.setDaemon(true);
+            final int threads = Math.max(1, templates.getTemplates().size());
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+            pool.allowCoreThreadTimeOut(true);
+            this.ownedExecutor = pool;
+            this.executor = ownedExecutor;
+        }
+    }
+
+    /**
+     * Publishes a message to a connection.
+     *
+     * @param connection The name of the connection.
+     * @param exchange   The exchange.
+     * @param routingKey The routing key.
+     * @param message    The message.
+     * @return the future completed with the confirm of the broker, or exceptionally if the publish failed, or with an
+     *         {@link IllegalStateException} if the connection is not set with correlated publisher confirms.
+     * @throws IllegalArgumentException if there is no connection with the given name.
+     */
+    public CompletableFuture<Confirm> send(final String connection,
+                                           final String exchange,
+                                           final String routingKey,
+                                           final Message message) {
+        return publish(connection, templates.get(connection), exchange, routingKey, message);
+    }
+
+    /**
+     * Publishes a message to all connections concurrently.
+     *
+     * @param exchange   The exchange.
+     * @param routingKey The routing key.
+     * @param message    The message.
+     * @return the future completed with the result of the broadcast, once all brokers are done.
+     */
+    public CompletableFuture<MultiRabbitBroadcastResult> broadcast(final String exchange,
+                                                                   final String routingKey,
+                                                                   final Message message) {
+        return broadcast(templates.getTemplates().keySet(), exchange, routingKey, message);
+    }
+
+    /**
+     * Publishes a message to the given connections concurrently. The body of the message is shared by all publishes,
+     * while each one has its own copy of the properties, since they are updated by the publish.
+     *
+     * @param connections The names of the connections.
+     * @param exchange    The exchange.
+     * @param routingKey  The routing key.
+     * @param message     The message.
+     * @return the future completed with the result of the broadcast, once all brokers are done.
+     * @throws IllegalArgumentException if there is no connection with one of the given names.
+     */
+    public CompletableFuture<MultiRabbitBroadcastResult> broadcast(final Collection<String> connections,
+                                                                   final String exchange,
+                                                                   final String routingKey,
+                                                                   final Message message) {
+        final Map<String, RabbitTemplate> targets = new LinkedHashMap<>();
+        connections.forEach(connection -> targets.put(connection, templates.get(connection)));
+
+        final Map<String, CompletableFuture<Confirm>> publishes = new LinkedHashMap<>();
+        targets.forEach((connection, template) -> publishes.put(connection, CompletableFuture
+                .supplyAsync(() -> publish(connection, template, exchange, routingKey, copyOf(message)), executor)
+                .thenCompose(Function.identity())));
+
+        return CompletableFuture.allOf(publishes.values().toArray(new CompletableFuture<?>[0]))
+                .handle((ignored, ex) -> aggregate(publishes));
+    }
+
+    /**
+     * Converts an object once and publishes the resulting message to the given connections concurrently.
+     *
+     * @param connections The names of the connections.
+     * @param exchange    The exchange.
+     * @param routingKey  The routing key.
+     * @param object      The object to convert into the message.
+     * @return the future completed with the result of the broadcast, once all brokers are done.
+     * @throws IllegalArgumentException if there is no connection with one of the given names.
+     */
+    public CompletableFuture<MultiRabbitBroadcastResult> convertAndBroadcast(final Collection<String> connections,
+                                                                             final String exchange,
+                                                                             final String routingKey,
+                                                                             final Object object) {
+        return broadcast(connections, exchange, routingKey,
+                messageConverter.toMessage(object, new MessageProperties()));
+    }
+
+    @Override
+    public void destroy() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Publishes with a confirm if the connection is set with correlated publisher confirms, or fails the future
+     * without publishing otherwise.
+     */
+    private CompletableFuture<Confirm> publish(final String connection,
+                                               final RabbitTemplate template,
+                                               final String exchange,
+                                               final String routingKey,
+                                               final Message message) {
+        if (template.getConnectionFactory().isPublisherConfirms()) {
+            return sendWithConfirm(template, exchange, routingKey, message);
+        }
+        final String msg = String.format("MultiRabbitMQ broker '%s' is not set with correlated publisher confirms",
+                connection);
+        LOGGER.error(msg);
+        final CompletableFuture<Confirm> unconfirmed = new CompletableFuture<>();
+        unconfirmed.completeExceptionally(new IllegalStateException(msg));
+        return unconfirmed;
+    }
+
+    private CompletableFuture<Confirm> sendWithConfirm(final RabbitTemplate template,
+                                                       final String exchange,
+                                                       final String routingKey,
+                                                       final Message message) {
+        final CorrelationData correlationData
+                = new CorrelationData(correlationPrefix + correlationSequence.incrementAndGet());
+        final CompletableFuture<Confirm> confirm = new CompletableFuture<>();
+        correlationData.getFuture().addCallback(
+                result -> confirm.complete(returnedAsNack(correlationData, result)),
+                confirm::completeExceptionally);
+        try {
+            template.send(exchange, routingKey, message, correlationData);
+        } catch (AmqpException ex) {
+            confirm.completeExceptionally(ex);
+        }
+        return confirm;
+    }
+
+    /**
+     * Returns the message with the same body and a copy of the properties.
+     */
+    private static Message copyOf(final Message message) {
+        return new Message(message.getBody(),
+                MessagePropertiesBuilder.fromClonedProperties(message.getMessageProperties()).build());
+    }
+
+    /**
+     * Returns the confirm of the broker, replaced by a negative one if the message was returned, since the broker
+     * also acknowledges the messages it could not route.
+     */
+    private static Confirm returnedAsNack(final CorrelationData correlationData, final Confirm confirm) {
+        final ReturnedMessage returned = correlationData.getReturned();
+        if (returned == null || !confirm.isAck()) {
+            return confirm;
+        }
+        return new Confirm(false, String.format("Returned with %d %s", returned.getReplyCode(),
+                returned.getReplyText()));
+    }
+
+    /**
+     * Splits the completed publishes into confirms and failures.
+     */
+    private static MultiRabbitBroadcastResult aggregate(final Map<String, CompletableFuture<Confirm>> publishes) {
+        final Map<String, Confirm> confirms = new LinkedHashMap<>();
+        final Map<String, Throwable> failures = new LinkedHashMap<>();
+        publishes.forEach((connection, publish) -> publish.handle((confirm, ex) -> {
+            if (ex != null) {
+                final Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                        ? ex.getCause()
+                        : ex;
+                LOGGER.warn("Failed to broadcast to MultiRabbitMQ broker '{}'", connection, cause);
+                failures.put(connection, cause);
+            } else {
+                confirms.put(connection, confirm);
+            }
+            return null;
+        }));
+        return new MultiRabbitBroadcastResult(confirms, failures);
+    }
+}
@@ -0,0 +1,37 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+/**
+ * Class responsible for auto-configuring the reactive binding of the MultiRabbit connections, when Reactor is
+ * available.
+ *
+ * @author Wander Costa
+ */
+@Configuration
+@AutoConfigureAfter(MultiRabbitAutoConfiguration.class)
+@ConditionalOnClass(Mono.class)
+@ConditionalOnProperty(prefix = "spring.multirabbitmq", name = "enabled", havingValue = "true")
+public class MultiRabbitReactorAutoConfiguration {
+
+    /**
+     * Returns the reactive wrapper binding the context carried in the Reactor Context.
+     *
+     * @param contextWrapper The wrapper binding the context to the thread.
+     * @return the reactive wrapper.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(ConnectionFactoryContextWrapper.class)
+    public ReactiveConnectionFactoryContextWrapper reactiveContextWrapper(
+            final ConnectionFactoryContextWrapper contextWrapper) {
+        return new ReactiveConnectionFactoryContextWrapper(contextWrapper);
+    }
+}
@@ -0,0 +1,107 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Reloads the MultiRabbit connections when their properties under {@code spring.multirabbitmq.connections} change at
+ * runtime. The properties of each connection are compared with those of the previous load, so only the connections
+ * added, removed or changed are affected: a connection added is registered, a connection removed is unregistered, and
+ * a connection changed is replaced by one built from its new properties, while the old one drains its channels in use
+ * before being closed. The other connections keep running untouched.
+ * <p>
+ * The reload happens on the {@code EnvironmentChangeEvent} of Spring Cloud Context, when present, or whenever
+ * {@link #refresh()} is called after the environment changes.
+ *
+ * @author Wander Costa
+ * @see MultiRabbitRegistry
+ */
+public class MultiRabbitRefresher implements SmartApplicationListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiRabbitRefresher.class);
+    static final String ENVIRONMENT_CHANGE_EVENT_CLASS_NAME
+            = "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+    private static final String CONNECTIONS_PREFIX = "spring.multirabbitmq.connections";
+
+    private final MultiRabbitRegistry registry;
+    private final Environment environment;
+    private Map<String, Object> connections;
+
+    /**
+     * Creates the refresher of the connections of the registry, from the properties of the environment.
+     *
+     * @param registry    The registry of connections.
+     * @param environment The environment holding the properties.
+     */
+    MultiRabbitRefresher(final MultiRabbitRegistry registry, final Environment environment) {
+        this.registry = registry;
+        this.environment = environment;
+        this.connections = bindConnections();
+    }
+
+    @Override
+    public boolean supportsEventType(final Class<? extends ApplicationEvent> eventType) {
+        return ENVIRONMENT_CHANGE_EVENT_CLASS_NAME.equals(eventType.getName());
+    }
+
+    @Override
+    public void onApplicationEvent(final ApplicationEvent event) {
+        refresh();
+    }
+
+    /**
+     * Compares the properties of the connections with those of the previous load, and registers, unregisters or
+     * replaces the connections which differ.
+     */
+    public synchronized void refresh() {
+        final Map<String, Object> current = bindConnections();
+        connections.keySet().stream()
+                .filter(name -> !current.containsKey(name))
+                .forEach(this::unregister);
+        current.forEach((name, properties) -> {
+            if (!connections.containsKey(name)) {
+                LOGGER.info("Registering MultiRabbitMQ broker '{}' added to the properties", name);
+                registry.register(name, bindRabbitProperties(name));
+            } else if (!Objects.equals(connections.get(name), properties)) {
+                LOGGER.info("Replacing MultiRabbitMQ broker '{}' changed in the properties", name);
+                registry.replace(name, bindRabbitProperties(name));
+            }
+        });
+        connections = current;
+    }
+
+    private void unregister(final String name) {
+        try {
+            LOGGER.info("Unregistering MultiRabbitMQ broker '{}' removed from the properties", name);
+            registry.unregister(name);
+        } catch (IllegalArgumentException ex) {
+            LOGGER.warn("MultiRabbitMQ broker '{}' was removed from the properties but is kept", name);
+        }
+    }
+
+    /**
+     * Returns the raw properties of each connection, to find out which of them changed.
+     */
+    private Map<String, Object> bindConnections() {
+        return Binder.get(environment)
+                .bind(CONNECTIONS_PREFIX, Bindable.mapOf(String.class, Object.class))
+                .map(map -> (Map<String, Object>) new HashMap<>(map))
+                .orElse(Collections.emptyMap());
+    }
+
+    private RabbitProperties bindRabbitProperties(final String name) {
+        return Binder.get(environment)
+                .bind(CONNECTIONS_PREFIX + "." + name, Bindable.of(RabbitProperties.class))
+                .orElseGet(RabbitProperties::new);
+    }
+}
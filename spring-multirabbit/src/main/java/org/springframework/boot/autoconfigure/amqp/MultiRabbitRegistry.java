@@ -0,0 +1,324 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import static org.springframework.util.Assert.hasText;
+import static org.springframework.util.Assert.notNull;
+
+/**
+ * Adds and removes MultiRabbit connections at runtime, without restarting the application. A connection added is
+ * set up as those under {@code spring.multirabbitmq.connections}: its connection factory, container factory, admin and
+ * template are created, the container factory and the admin are registered as beans, and the connection becomes a
+ * target of the {@link MultiRabbitRoutingConnectionFactory}. Listeners can then be registered with the container
+ * factory of the connection, e.g. through the {@link RabbitListenerEndpointRegistry}.
+ * <p>
+ * A connection removed stops being a target of the routing connection factory first, so no new use reaches it. Then,
+ * it leaves the {@link MultiRabbitGroups} it is a member of, its listener containers are stopped and unregistered, its
+ * template, container factory and admin are removed, and its connection factory is closed once the drain period has
+ * elapsed. The default connection and the last member of a group cannot be removed, but they can be replaced.
+ * <p>
+ * The changes are serialized, while the lookups of the routing connection factory remain lock-free.
+ *
+ * @author Wander Costa
+ */
+public class MultiRabbitRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiRabbitRegistry.class);
+
+    private final MultiRabbitRoutingConnectionFactory routingConnectionFactory;
+    private final MultiRabbitTemplates templates;
+    private final ObjectProvider<RabbitListenerEndpointRegistry> endpointRegistry;
+    private final ObjectProvider<MultiRabbitGroups> groups;
+    private final ConnectionProvisioner provisioner;
+    private final Duration drainPeriod;
+    private final SimpleAsyncTaskExecutor drainExecutor = new SimpleAsyncTaskExecutor("multirabbit-drain-");
+
+    /**
+     * Creates the registry of the connections of the routing connection factory.
+     *
+     * @param routingConnectionFactory The routing connection factory.
+     * @param templates                The templates of the connections.
+     * @param endpointRegistry         The registry of listener containers.
+     * @param groups                   The groups of connections.
+     * @param provisioner              The creator of the beans of the connections.
+     * @param drainPeriod              The time to wait before closing a connection removed or replaced.
+     */
+    MultiRabbitRegistry(final MultiRabbitRoutingConnectionFactory routingConnectionFactory,
+                        final MultiRabbitTemplates templates,
+                        final ObjectProvider<RabbitListenerEndpointRegistry> endpointRegistry,
+                        final ObjectProvider<MultiRabbitGroups> groups,
+                        final ConnectionProvisioner provisioner,
+                        final Duration drainPeriod) {
+        this.routingConnectionFactory = routingConnectionFactory;
+        this.templates = templates;
+        this.endpointRegistry = endpointRegistry;
+        this.groups = groups;
+        this.provisioner = provisioner;
+        this.drainPeriod = drainPeriod;
+        this.drainExecutor.setDaemon(true);
+    }
+
+    /**
+     * Returns the names of the connections, excluding the default one if it is not named.
+     *
+     * @return the names of the connections.
+     */
+    public Set<String> getConnectionNames() {
+        return routingConnectionFactory.getTargetConnectionFactories().keySet().stream()
+                .map(Object::toString)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Returns whether a connection with the given name exists.
+     *
+     * @param name The name of the connection.
+     * @return whether the connection exists.
+     */
+    public boolean contains(final String name) {
+        return routingConnectionFactory.getTargetConnectionFactory(name) != null;
+    }
+
+    /**
+     * Adds a connection configured from the given properties.
+     *
+     * @param name             The name of the connection.
+     * @param rabbitProperties The properties of the connection.
+     * @return the connection factory of the connection.
+     * @throws IllegalArgumentException if a connection with the given name already exists.
+     */
+    public synchronized ConnectionFactory register(final String name, final RabbitProperties rabbitProperties) {
+        hasText(name, "Name may not be null or empty");
+        notNull(rabbitProperties, "RabbitProperties may not be null");
+        if (contains(name)) {
+            final String msg = String.format("MultiRabbitMQ broker '%s' already exists", name);
+            LOGGER.error(msg);
+            throw new IllegalArgumentException(msg);
+        }
+        final ConnectionFactory connectionFactory = provisioner.create(name, rabbitProperties);
+        try {
+            routingConnectionFactory.addTargetConnectionFactory(name, connectionFactory);
+            templates.put(name, provisioner.newRabbitTemplate(name, rabbitProperties, connectionFactory));
+        } catch (RuntimeException ex) {
+            routingConnectionFactory.removeTargetConnectionFactory(name);
+            provisioner.removeBeans(name, connectionFactory);
+            provisioner.close(name, connectionFactory);
+            throw ex;
+        }
+        LOGGER.info("Registered MultiRabbitMQ broker '{}'", name);
+        return connectionFactory;
+    }
+
+    /**
+     * Removes a connection, dropping it from its groups, stopping its listener containers and closing its connection
+     * factory after the drain period.
+     *
+     * @param name The name of the connection.
+     * @throws IllegalArgumentException if there is no connection with the given name, if it is the default one, or if
+     *                                  it is the last member of a group.
+     */
+    public synchronized void unregister(final String name) {
+        final ConnectionFactory connectionFactory = existing(name);
+        if (connectionFactory == routingConnectionFactory.getDefaultTargetConnectionFactory()) {
+            final String msg = String.format("MultiRabbitMQ broker '%s' is the default and cannot be removed", name);
+            LOGGER.error(msg);
+            throw new IllegalArgumentException(msg);
+        }
+        groups.ifAvailable(multiRabbitGroups -> multiRabbitGroups.removeMember(name));
+        routingConnectionFactory.removeTargetConnectionFactory(name);
+        templates.remove(name);
+        final RabbitListenerEndpointRegistry registry = endpointRegistry.getIfAvailable();
+        listenerContainerIds(registry, connectionFactory).forEach(id -> {
+            final MessageListenerContainer container = registry.unregisterListenerContainer(id);
+            container.stop();
+            ((AbstractMessageListenerContainer) container).destroy();
+        });
+        provisioner.removeBeans(name, connectionFactory);
+        drain(name, connectionFactory);
+        LOGGER.info("Unregistered MultiRabbitMQ broker '{}'", name);
+    }
+
+    /**
+     * Replaces a connection with a new one configured from the given properties, under the same name. Its listener
+     * containers are stopped, moved to the new connection with the listener properties which changed, and started
+     * again, while the old connection factory is closed after the drain period, so the uses in progress can complete.
+     * The other connections are not affected.
+     * If the new connection cannot be created, the current one is kept with its beans and its listener containers are
+     * started again.
+     *
+     * @param name             The name of the connection.
+     * @param rabbitProperties The new properties of the connection.
+     * @return the new connection factory of the connection.
+     * @throws IllegalArgumentException if there is no connection with the given name.
+     */
+    public synchronized ConnectionFactory replace(final String name, final RabbitProperties rabbitProperties) {
+        notNull(rabbitProperties, "RabbitProperties may not be null");
+        final ConnectionFactory oldConnectionFactory = existing(name);
+        final RabbitListenerEndpointRegistry registry = endpointRegistry.getIfAvailable();
+        final List<AbstractMessageListenerContainer> containers = new ArrayList<>();
+        listenerContainerIds(registry, oldConnectionFactory).forEach(id -> {
+            final AbstractMessageListenerContainer container
+                    = (AbstractMessageListenerContainer) registry.getListenerContainer(id);
+            if (container.isRunning()) {
+                container.stop();
+                containers.add(container);
+            }
+        });
+        provisioner.removeBeans(name, oldConnectionFactory);
+        final ConnectionFactory connectionFactory;
+        final RabbitTemplate rabbitTemplate;
+        try {
+            connectionFactory = provisioner.create(name, rabbitProperties);
+            try {
+                rabbitTemplate = provisioner.newRabbitTemplate(name, rabbitProperties, connectionFactory);
+            } catch (RuntimeException ex) {
+                provisioner.removeBeans(name, connectionFactory);
+                provisioner.close(name, connectionFactory);
+                throw ex;
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.error("Failed to replace MultiRabbitMQ broker '{}', keeping the current one", name);
+            provisioner.restoreBeans(name, oldConnectionFactory);
+            containers.forEach(AbstractMessageListenerContainer::start);
+            throw ex;
+        }
+        routingConnectionFactory.addTargetConnectionFactory(name, connectionFactory);
+        if (oldConnectionFactory == routingConnectionFactory.getDefaultTargetConnectionFactory()) {
+            routingConnectionFactory.setDefaultTargetConnectionFactory(connectionFactory);
+        }
+        templates.put(name, rabbitTemplate);
+        listenerContainerIds(registry, oldConnectionFactory).forEach(id -> provisioner.moveContainer(name,
+                connectionFactory, (AbstractMessageListenerContainer) registry.getListenerContainer(id)));
+        containers.forEach(AbstractMessageListenerContainer::start);
+        drain(name, oldConnectionFactory);
+        LOGGER.info("Replaced MultiRabbitMQ broker '{}'", name);
+        return connectionFactory;
+    }
+
+    private ConnectionFactory existing(final String name) {
+        final ConnectionFactory connectionFactory = name != null
+                ? routingConnectionFactory.getTargetConnectionFactory(name)
+                : null;
+        if (connectionFactory == null) {
+            final String msg = String.format("MultiRabbitMQ broker '%s' does not exist in configuration", name);
+            LOGGER.error(msg);
+            throw new IllegalArgumentException(msg);
+        }
+        return connectionFactory;
+    }
+
+    /**
+     * Returns the ids of the listener containers bound to a connection factory.
+     */
+    private static List<String> listenerContainerIds(final RabbitListenerEndpointRegistry registry,
+                                                     final ConnectionFactory connectionFactory) {
+        final List<String> ids = new ArrayList<>();
+        if (registry == null) {
+            return ids;
+        }
+        for (String id : registry.getListenerContainerIds()) {
+            final MessageListenerContainer container = registry.getListenerContainer(id);
+            if (container instanceof AbstractMessageListenerContainer
+                    && ((AbstractMessageListenerContainer) container).getConnectionFactory() == connectionFactory) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Closes a connection factory which is no longer routed to, once the uses in progress had the drain period to
+     * complete.
+     */
+    private void drain(final String name, final ConnectionFactory connectionFactory) {
+        if (drainPeriod.isZero() || drainPeriod.isNegative()) {
+            provisioner.close(name, connectionFactory);
+            return;
+        }
+        drainExecutor.execute(() -> {
+            try {
+                Thread.sleep(drainPeriod.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            provisioner.close(name, connectionFactory);
+        });
+    }
+
+    /**
+     * Creates and destroys the beans of the connections.
+     */
+    interface ConnectionProvisioner {
+
+        /**
+         * Creates the connection factory of a connection, registering its container factory and admin as beans.
+         *
+         * @param name             The name of the connection.
+         * @param rabbitProperties The properties of the connection.
+         * @return the connection factory.
+         */
+        ConnectionFactory create(String name, RabbitProperties rabbitProperties);
+
+        /**
+         * Creates the template of a connection.
+         *
+         * @param name              The name of the connection.
+         * @param rabbitProperties  The properties of the connection.
+         * @param connectionFactory The connection factory of the connection.
+         * @return the template.
+         */
+        RabbitTemplate newRabbitTemplate(String name, RabbitProperties rabbitProperties,
+                                         ConnectionFactory connectionFactory);
+
+        /**
+         * Removes the container factory and the admin of a connection from the beans.
+         *
+         * @param name              The name of the connection.
+         * @param connectionFactory The connection factory being removed or replaced.
+         */
+        void removeBeans(String name, ConnectionFactory connectionFactory);
+
+        /**
+         * Registers again the container factory and the admin of a connection removed by
+         * {@link #removeBeans(String, ConnectionFactory)}, when its replacement fails.
+         *
+         * @param name              The name of the connection.
+         * @param connectionFactory The connection factory whose beans were removed.
+         */
+        void restoreBeans(String name, ConnectionFactory connectionFactory);
+
+        /**
+         * Moves a listener container of a connection replaced to its new connection factory, applying the listener
+         * properties which differ in its new container factory, and moving its threads in the shared executor, if any.
+         *
+         * @param name              The name of the connection.
+         * @param connectionFactory The new connection factory of the connection.
+         * @param container         The listener container, stopped.
+         */
+        void moveContainer(String name, ConnectionFactory connectionFactory,
+                           AbstractMessageListenerContainer container);
+
+        /**
+         * Closes the connection factory of a connection removed or replaced.
+         *
+         * @param name              The name of the connection.
+         * @param connectionFactory The connection factory.
+         */
+        void close(String name, ConnectionFactory connectionFactory);
+    }
+}
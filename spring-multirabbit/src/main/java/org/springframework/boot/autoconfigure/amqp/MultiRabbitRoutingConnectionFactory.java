@@ -0,0 +1,183 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.SimpleRoutingConnectionFactory;
+import org.springframework.core.NamedThreadLocal;
+
+/**
+ * A {@link SimpleRoutingConnectionFactory} specialized for the MultiRabbit connections. The names of the connections
+ * are pre-resolved into an index of routes, each holding the target connection factory of a name, and binding a name
+ * with {@link ConnectionFactoryContextWrapper} places its route in a single thread-local slot. Differently from
+ * {@link org.springframework.amqp.rabbit.connection.SimpleResourceHolder}, binding and unbinding allocate nothing, and
+ * each use of the connection factory reads its target directly from the slot, instead of looking up a thread-local map
+ * and then the map of targets. Keys bound with {@link org.springframework.amqp.rabbit.connection.SimpleResourceHolder}
+ * are still honored when the slot is empty, but a name bound with {@link ConnectionFactoryContextWrapper} takes
+ * precedence over them, even over a key bound later within its call: the holder is not looked up while a name is
+ * bound, which is what keeps each use free of lookups. Code run by the wrapper should switch connections by nesting
+ * another call of the wrapper rather than binding a key with the holder.
+ * <p>
+ * The target connection factories can be added and removed at runtime (see {@link MultiRabbitRegistry}). The index is
+ * then replaced with a copy, so that neither the binding nor the lookup of the target ever lock. A name bound while its
+ * connection is replaced keeps the previous target until unbound, which is served during the drain period.
+ *
+ * @author Wander Costa
+ */
+public class MultiRabbitRoutingConnectionFactory extends SimpleRoutingConnectionFactory {
+
+    private final ThreadLocal<Route> currentRoute = new NamedThreadLocal<>("MultiRabbit route");
+    private volatile Map<Object, Route> routes = Collections.emptyMap();
+    private volatile Map<Object, ConnectionFactory> targetConnectionFactories = Collections.emptyMap();
+    private volatile ConnectionFactory defaultTargetConnectionFactory;
+
+    @Override
+    public synchronized void setTargetConnectionFactories(
+            final Map<Object, ConnectionFactory> targetConnectionFactories) {
+        super.setTargetConnectionFactories(targetConnectionFactories);
+        final Map<Object, ConnectionFactory> copy = new LinkedHashMap<>(this.targetConnectionFactories);
+        copy.putAll(targetConnectionFactories);
+        updateTargets(copy);
+    }
+
+    /**
+     * Adds a target connection factory, replacing the index of the targets with a copy, so that lookups never lock.
+     *
+     * @param key               The lookup key of the target connection factory.
+     * @param connectionFactory The target connection factory.
+     */
+    @Override
+    protected synchronized void addTargetConnectionFactory(final Object key,
+                                                           final ConnectionFactory connectionFactory) {
+        super.addTargetConnectionFactory(key, connectionFactory);
+        final Map<Object, ConnectionFactory> copy = new LinkedHashMap<>(this.targetConnectionFactories);
+        copy.put(key, connectionFactory);
+        updateTargets(copy);
+    }
+
+    /**
+     * Removes a target connection factory, replacing the index of the targets with a copy, so that lookups never
+     * lock.
+     *
+     * @param key The lookup key of the target connection factory.
+     * @return the removed target connection factory, or null if none.
+     */
+    @Override
+    protected synchronized ConnectionFactory removeTargetConnectionFactory(final Object key) {
+        final ConnectionFactory removed = super.removeTargetConnectionFactory(key);
+        final Map<Object, ConnectionFactory> copy = new LinkedHashMap<>(this.targetConnectionFactories);
+        copy.remove(key);
+        updateTargets(copy);
+        return removed;
+    }
+
+    private void updateTargets(final Map<Object, ConnectionFactory> targets) {
+        final Map<Object, Route> index = new HashMap<>(targets.size() * 2);
+        targets.forEach((key, connectionFactory) -> index.put(key, new Route(key, connectionFactory)));
+        this.targetConnectionFactories = Collections.unmodifiableMap(targets);
+        this.routes = index;
+    }
+
+    @Override
+    public void setDefaultTargetConnectionFactory(final ConnectionFactory defaultTargetConnectionFactory) {
+        super.setDefaultTargetConnectionFactory(defaultTargetConnectionFactory);
+        this.defaultTargetConnectionFactory = defaultTargetConnectionFactory;
+    }
+
+    /**
+     * Returns the default target connection factory, used when no lookup key is bound.
+     *
+     * @return the default target connection factory.
+     */
+    public ConnectionFactory getDefaultTargetConnectionFactory() {
+        return defaultTargetConnectionFactory;
+    }
+
+    /**
+     * Returns an immutable view of the target connection factories, by lookup key.
+     *
+     * @return the target connection factories.
+     */
+    public Map<Object, ConnectionFactory> getTargetConnectionFactories() {
+        return targetConnectionFactories;
+    }
+
+    /**
+     * Binds the route of the lookup key to the current thread.
+     *
+     * @param lookupKey The lookup key of the target connection factory.
+     * @return the route previously bound, or null if none.
+     */
+    Object bind(final Object lookupKey) {
+        Route route = routes.get(lookupKey);
+        if (route == null) {
+            route = new Route(lookupKey, null);
+        }
+        final Route previousRoute = currentRoute.get();
+        currentRoute.set(route);
+        return previousRoute;
+    }
+
+    /**
+     * Restores the route bound before the last call to {@link #bind(Object)}.
+     *
+     * @param previousRoute The route returned by {@link #bind(Object)}.
+     */
+    void restore(final Object previousRoute) {
+        if (previousRoute != null) {
+            currentRoute.set((Route) previousRoute);
+        } else {
+            currentRoute.remove();
+        }
+    }
+
+    @Override
+    public ConnectionFactory getTargetConnectionFactory(final Object key) {
+        return targetConnectionFactories.get(key);
+    }
+
+    @Override
+    protected ConnectionFactory determineTargetConnectionFactory() {
+        final Route route = currentRoute.get();
+        final Object lookupKey;
+        ConnectionFactory connectionFactory;
+        if (route != null) {
+            lookupKey = route.key;
+            connectionFactory = route.connectionFactory;
+        } else {
+            lookupKey = super.determineCurrentLookupKey();
+            connectionFactory = lookupKey != null ? targetConnectionFactories.get(lookupKey) : null;
+        }
+        if (connectionFactory == null && (isLenientFallback() || lookupKey == null)) {
+            connectionFactory = defaultTargetConnectionFactory;
+        }
+        if (connectionFactory == null) {
+            throw new IllegalStateException("Cannot determine target ConnectionFactory for lookup key ["
+                    + lookupKey + "]");
+        }
+        return connectionFactory;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        final Route route = currentRoute.get();
+        return route != null ? route.key : super.determineCurrentLookupKey();
+    }
+
+    /**
+     * The target connection factory of a lookup key, resolved when the targets change.
+     */
+    private static final class Route {
+
+        private final Object key;
+        private final ConnectionFactory connectionFactory;
+
+        private Route(final Object key, final ConnectionFactory connectionFactory) {
+            this.key = key;
+            this.connectionFactory = connectionFactory;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * The executor shared by the listener containers of all MultiRabbit connections. Each listener container reserves
+ * the threads of its consumers and gets its own view of it, which runs at most that number of tasks at once: the tasks
+ * beyond it wait for a task of the same container to complete, instead of taking threads from the other containers.
+ * The reservations of the containers of a connection add up under its connection factory, and are released together.
+ * <p>
+ * The reservations of all containers must fit within the maximum size of the executor, which is checked as each
+ * container is created, so that a configuration with too many consumers fails at startup, and the executor itself
+ * never runs out of threads once started.
+ *
+ * @author Wander Costa
+ */
+public class MultiRabbitSharedExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiRabbitSharedExecutor.class);
+
+    private final Map<Object, Integer> reservations = new IdentityHashMap<>();
+    private final TaskExecutor executor;
+    private final int maxSize;
+
+    /**
+     * Creates a new shared executor.
+     *
+     * @param executor The executor running the tasks of all connections, with at least {@code maxSize} threads.
+     * @param maxSize  The maximum number of threads reserved by all connections.
+     */
+    public MultiRabbitSharedExecutor(final TaskExecutor executor, final int maxSize) {
+        Assert.isTrue(maxSize > 0, "Max size must be positive");
+        this.executor = executor;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Reserves threads for a listener container of a connection, adding them to the ones already reserved by the
+     * owner.
+     *
+     * @param name    The name of the connection.
+     * @param owner   The owner of the reservation, released with it, e.g. the connection factory of the connection.
+     * @param threads The number of threads to reserve.
+     * @return the view of the executor running at most {@code threads} tasks of the container at once.
+     * @throws IllegalStateException if the threads left in the executor are not enough.
+     */
+    public synchronized TaskExecutor reserve(final String name, final Object owner, final int threads) {
+        Assert.isTrue(threads > 0, "Listener threads must be positive");
+        final int reserved = getReservedThreads();
+        if (reserved + threads > maxSize) {
+            final String msg = String.format("MultiRabbitMQ broker '%s' needs %d listener threads, but only %d of "
+                    + "the %d threads of the shared executor are left", name, threads, maxSize - reserved, maxSize);
+            LOGGER.error(msg);
+            throw new IllegalStateException(msg);
+        }
+        reservations.merge(owner, threads, Integer::sum);
+        return new ConnectionExecutor(threads);
+    }
+
+    /**
+     * Moves the threads of a view of this executor to another owner, e.g. when its listener container is moved to the
+     * new connection factory of a replaced connection, once the threads of the previous owner were released. If the
+     * container now needs another number of threads, a new view is reserved for them when they fit in the executor,
+     * or else the container keeps the threads it already ran with.
+     *
+     * @param executor The executor of the listener container.
+     * @param name     The name of the connection.
+     * @param owner    The new owner of the reservation.
+     * @param threads  The number of threads the container needs.
+     * @return the view of the executor for the container, or the given executor if it is not a view of this one.
+     */
+    public synchronized Executor move(final Executor executor,
+                                      final String name,
+                                      final Object owner,
+                                      final int threads) {
+        if (!(executor instanceof ConnectionExecutor) || ((ConnectionExecutor) executor).getSharedExecutor() != this) {
+            return executor;
+        }
+        final int previousThreads = ((ConnectionExecutor) executor).threads;
+        if (threads == previousThreads) {
+            reservations.merge(owner, threads, Integer::sum);
+            return executor;
+        }
+        if (getReservedThreads() + threads <= maxSize) {
+            return reserve(name, owner, threads);
+        }
+        LOGGER.warn("MultiRabbitMQ broker '{}' keeps {} listener threads for a container needing {}, since not "
+                + "enough threads of the shared executor are left", name, previousThreads, threads);
+        reservations.merge(owner, previousThreads, Integer::sum);
+        return executor;
+    }
+
+    /**
+     * Releases all the threads reserved by the owner, if any.
+     *
+     * @param owner The owner of the reservation.
+     * @return the number of threads released, or 0 if the owner had none.
+     */
+    public synchronized int release(final Object owner) {
+        final Integer threads = reservations.remove(owner);
+        return threads != null ? threads : 0;
+    }
+
+    /**
+     * Returns the number of threads reserved by the owner.
+     *
+     * @param owner The owner of the reservations.
+     * @return the number of threads reserved by the owner, or 0 if it has none.
+     */
+    public synchronized int getReservedThreads(final Object owner) {
+        return reservations.getOrDefault(owner, 0);
+    }
+
+    /**
+     * Returns the number of threads reserved by all connections.
+     *
+     * @return the number of reserved threads.
+     */
+    public synchronized int getReservedThreads() {
+        return reservations.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Returns the maximum number of threads reserved by all connections.
+     *
+     * @return the maximum number of threads.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the executor running the tasks of all connections.
+     *
+     * @return the executor.
+     */
+    public TaskExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * The view of the executor for a listener container, queueing the tasks beyond its reserved threads.
+     */
+    private final class ConnectionExecutor implements TaskExecutor {
+
+        private final Queue<Runnable> pending = new ArrayDeque<>();
+        private final int threads;
+        private int running;
+
+        private ConnectionExecutor(final int threads) {
+            this.threads = threads;
+        }
+
+        private MultiRabbitSharedExecutor getSharedExecutor() {
+            return MultiRabbitSharedExecutor.this;
+        }
+
+        @Override
+        public void execute(final Runnable task) {
+            synchronized (this) {
+                if (running >= threads) {
+                    pending.add(task);
+                    return;
+                }
+                running++;
+            }
+            submit(task);
+        }
+
+        private void submit(final Runnable task) {
+            try {
+                executor.execute(() -> run(task));
+            } catch (RuntimeException ex) {
+                synchronized (this) {
+                    running--;
+                }
+                throw ex;
+            }
+        }
+
+        private void run(final Runnable task) {
+            try {
+                task.run();
+            } finally {
+                final Runnable next;
+                synchronized (this) {
+                    next = pending.poll();
+                    if (next == null) {
+                        running--;
+                    }
+                }
+                if (next != null) {
+                    submit(next);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import com.rabbitmq.stream.Environment;
+import org.springframework.rabbit.stream.config.StreamRabbitListenerContainerFactory;
+
+/**
+ * Helper class to create the {@link StreamRabbitListenerContainerFactory} of connections defined with
+ * {@code listener.type=stream}. It is isolated from {@link MultiRabbitAutoConfiguration}, so the classes of
+ * spring-rabbit-stream are only loaded when such a connection is configured.
+ *
+ * @author Wander Costa
+ */
+final class MultiRabbitStreamContainerFactoryCreator {
+
+    static final String STREAM_CONTAINER_FACTORY_CLASS_NAME
+            = "org.springframework.rabbit.stream.config.StreamRabbitListenerContainerFactory";
+
+    /**
+     * Private constructor.
+     */
+    private MultiRabbitStreamContainerFactoryCreator() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated.");
+    }
+
+    /**
+     * Returns a lazily initialized stream {@link Environment} configured from the given properties, the same way
+     * Spring Boot does for the default one.
+     *
+     * @param rabbitProperties The properties of the connection.
+     * @return the stream {@link Environment}.
+     */
+    static Environment newEnvironment(final RabbitProperties rabbitProperties) {
+        return RabbitStreamConfiguration.configure(Environment.builder(), rabbitProperties).build();
+    }
+
+    /**
+     * Returns a {@link StreamRabbitListenerContainerFactory} bound to the given {@link Environment}.
+     *
+     * @param rabbitProperties The properties of the connection.
+     * @param environment      The stream {@link Environment} of the connection.
+     * @return the {@link StreamRabbitListenerContainerFactory}.
+     */
+    static StreamRabbitListenerContainerFactory newContainerFactory(final RabbitProperties rabbitProperties,
+                                                                    final Environment environment) {
+        final StreamRabbitListenerContainerFactory containerFactory
+                = new StreamRabbitListenerContainerFactory(environment);
+        containerFactory.setNativeListener(rabbitProperties.getListener().getStream().isNativeListener());
+        return containerFactory;
+    }
+}
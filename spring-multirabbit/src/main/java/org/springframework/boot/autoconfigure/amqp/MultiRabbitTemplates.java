@@ -0,0 +1,73 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import static org.springframework.util.Assert.hasText;
+import static org.springframework.util.Assert.notNull;
+
+/**
+ * A registry of one {@link RabbitTemplate} per MultiRabbit connection. Each template is bound directly to the
+ * {@link org.springframework.amqp.rabbit.connection.ConnectionFactory} of its connection, so publishing with it does
+ * not require context binding nor the lookup of the routing connection factory.
+ * <p>
+ * The templates are not registered as beans on their own, so the injection of the default {@link RabbitTemplate} by
+ * type is not affected.
+ *
+ * @author Wander Costa
+ */
+public class MultiRabbitTemplates {
+
+    private final Map<String, RabbitTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<String, RabbitTemplate> immutableTemplates = Collections.unmodifiableMap(templates);
+
+    /**
+     * Returns the {@link RabbitTemplate} of the given connection.
+     *
+     * @param name The name of the connection.
+     * @return the {@link RabbitTemplate} of the connection.
+     * @throws IllegalArgumentException if there is no connection with the given name.
+     */
+    public RabbitTemplate get(final String name) {
+        final RabbitTemplate template = name != null ? templates.get(name) : null;
+        if (template == null) {
+            throw new IllegalArgumentException(
+                    String.format("MultiRabbitMQ broker '%s' does not exist in configuration", name));
+        }
+        return template;
+    }
+
+    /**
+     * Returns an immutable view of the templates, by connection name.
+     *
+     * @return the templates by connection name.
+     */
+    public Map<String, RabbitTemplate> getTemplates() {
+        return immutableTemplates;
+    }
+
+    /**
+     * Adds or replaces the template of a connection.
+     *
+     * @param name     The name of the connection.
+     * @param template The {@link RabbitTemplate}.
+     */
+    void put(final String name, final RabbitTemplate template) {
+        hasText(name, "Name may not be null or empty");
+        notNull(template, "RabbitTemplate may not be null");
+        templates.put(name, template);
+    }
+
+    /**
+     * Removes the template of a connection.
+     *
+     * @param name The name of the connection.
+     * @return the removed {@link RabbitTemplate}, or null if none.
+     */
+    RabbitTemplate remove(final String name) {
+        return templates.remove(name);
+    }
+}
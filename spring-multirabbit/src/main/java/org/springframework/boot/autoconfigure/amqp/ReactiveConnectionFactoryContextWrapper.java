@@ -0,0 +1,108 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * Helper class to handle ConnectionFactory context binding in reactive pipelines, where the thread-local binding of
+ * {@link ConnectionFactoryContextWrapper} does not survive the hops between threads.
+ * <p>
+ * The name of the connection is carried in the Reactor {@link Context} under {@link #CONTEXT_KEY}, and is only bound
+ * to the thread around the actual execution of the instructions, wherever they are subscribed. The context is written
+ * with {@link #withContext(String)}, or directly by the variants taking the name of the context.
+ *
+ * @author Wander Costa
+ */
+public class ReactiveConnectionFactoryContextWrapper {
+
+    /**
+     * The key of the name of the connection in the Reactor {@link Context}.
+     */
+    public static final String CONTEXT_KEY = "multirabbit.connection";
+
+    private final ConnectionFactoryContextWrapper contextWrapper;
+
+    /**
+     * Returns a new ReactiveConnectionFactoryContextWrapper binding with the given wrapper.
+     *
+     * @param contextWrapper The {@link ConnectionFactoryContextWrapper} binding the context around each execution.
+     */
+    public ReactiveConnectionFactoryContextWrapper(final ConnectionFactoryContextWrapper contextWrapper) {
+        this.contextWrapper = contextWrapper;
+    }
+
+    /**
+     * Returns the function writing the name of the context in the Reactor {@link Context}, to be used with
+     * {@code contextWrite}.
+     *
+     * @param contextName the name of the context. In null, empty or blank, default context is bound.
+     * @return the function writing the name of the context.
+     */
+    public static Function<Context, Context> withContext(final String contextName) {
+        return context -> hasText(contextName)
+                ? context.put(CONTEXT_KEY, contextName)
+                : context.delete(CONTEXT_KEY);
+    }
+
+    /**
+     * Returns the name of the context carried in the Reactor {@link Context}, if any.
+     *
+     * @return the {@link Mono} of the name of the context, empty for the default context.
+     */
+    public static Mono<String> currentContext() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.getOrEmpty(CONTEXT_KEY)));
+    }
+
+    /**
+     * Returns a {@link Mono} executing a {@link Callable} binding the context carried in the Reactor {@link Context}
+     * and finally unbinding it.
+     *
+     * @param callable the {@link Callable} object to be executed.
+     * @param <T>      the return type.
+     * @return the {@link Mono} of the result of the {@link Callable}, or of its error.
+     */
+    public <T> Mono<T> call(final Callable<T> callable) {
+        return Mono.deferContextual(context -> Mono.fromCallable(
+                () -> contextWrapper.call(context.getOrDefault(CONTEXT_KEY, null), callable)));
+    }
+
+    /**
+     * Returns a {@link Mono} executing a {@link Callable} binding the given context and finally unbinding it.
+     *
+     * @param contextName the name of the context. In null, empty or blank, default context is bound.
+     * @param callable    the {@link Callable} object to be executed.
+     * @param <T>         the return type.
+     * @return the {@link Mono} of the result of the {@link Callable}, or of its error.
+     */
+    public <T> Mono<T> call(final String contextName, final Callable<T> callable) {
+        return call(callable).contextWrite(withContext(contextName));
+    }
+
+    /**
+     * Returns a {@link Mono} executing a {@link Runnable} binding the context carried in the Reactor {@link Context}
+     * and finally unbinding it.
+     *
+     * @param runnable the {@link Runnable} object to be executed.
+     * @return the {@link Mono} completing once the {@link Runnable} is executed, or of its error.
+     */
+    public Mono<Void> run(final Runnable runnable) {
+        return Mono.deferContextual(context -> Mono.fromRunnable(
+                () -> contextWrapper.run(context.getOrDefault(CONTEXT_KEY, null), runnable)));
+    }
+
+    /**
+     * Returns a {@link Mono} executing a {@link Runnable} binding the given context and finally unbinding it.
+     *
+     * @param contextName the name of the context. In null, empty or blank, default context is bound.
+     * @param runnable    the {@link Runnable} object to be executed.
+     * @return the {@link Mono} completing once the {@link Runnable} is executed, or of its error.
+     */
+    public Mono<Void> run(final String contextName, final Runnable runnable) {
+        return run(runnable).contextWrite(withContext(contextName));
+    }
+}
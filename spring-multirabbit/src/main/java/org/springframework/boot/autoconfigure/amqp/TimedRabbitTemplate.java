@@ -0,0 +1,97 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * A {@link RabbitTemplate} which measures the latency of its publishes and the time waited to check out a channel
+ * for them, telling whether the channel came from the cache or had to be created.
+ *
+ * @author Wander Costa
+ */
+final class TimedRabbitTemplate extends RabbitTemplate {
+
+    private static final ThreadLocal<Boolean> CHANNEL_CREATED = new ThreadLocal<>();
+
+    private final ThreadLocal<Long> sendStart = new ThreadLocal<>();
+    private final Timer publishSuccess;
+    private final Timer publishFailure;
+    private final Timer checkoutHit;
+    private final Timer checkoutMiss;
+
+    /**
+     * Creates a template which registers its meters with the given prefix and tags.
+     *
+     * @param registry The registry of meters.
+     * @param prefix   The prefix of the meters.
+     * @param tags     The tags of the meters.
+     */
+    TimedRabbitTemplate(final MeterRegistry registry, final String prefix, final Iterable<Tag> tags) {
+        this.publishSuccess = publishTimer(registry, prefix, tags, "success");
+        this.publishFailure = publishTimer(registry, prefix, tags, "failure");
+        this.checkoutHit = checkoutTimer(registry, prefix, tags, "hit");
+        this.checkoutMiss = checkoutTimer(registry, prefix, tags, "miss");
+    }
+
+    /**
+     * Marks that a channel was created by the current thread, so the ongoing checkout is a miss of the cache.
+     */
+    static void markChannelCreated() {
+        CHANNEL_CREATED.set(Boolean.TRUE);
+    }
+
+    @Override
+    public void send(final String exchange, final String routingKey, final Message message,
+                     final CorrelationData correlationData) throws AmqpException {
+        final long start = System.nanoTime();
+        sendStart.set(start);
+        CHANNEL_CREATED.remove();
+        boolean success = false;
+        try {
+            super.send(exchange, routingKey, message, correlationData);
+            success = true;
+        } finally {
+            sendStart.remove();
+            (success ? publishSuccess : publishFailure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void doSend(final Channel channel, final String exchangeArg, final String routingKeyArg,
+                       final Message message, final boolean mandatory, final CorrelationData correlationData)
+            throws IOException {
+        final Long start = sendStart.get();
+        if (start != null) {
+            sendStart.remove();
+            final boolean created = Boolean.TRUE.equals(CHANNEL_CREATED.get());
+            CHANNEL_CREATED.remove();
+            (created ? checkoutMiss : checkoutHit).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        super.doSend(channel, exchangeArg, routingKeyArg, message, mandatory, correlationData);
+    }
+
+    private static Timer publishTimer(final MeterRegistry registry, final String prefix, final Iterable<Tag> tags,
+                                      final String outcome) {
+        return Timer.builder(prefix + ".publish")
+                .description("The latency of the publishes of the template of the connection")
+                .tags(Tags.concat(tags, "outcome", outcome))
+                .register(registry);
+    }
+
+    private static Timer checkoutTimer(final MeterRegistry registry, final String prefix, final Iterable<Tag> tags,
+                                       final String cache) {
+        return Timer.builder(prefix + ".channel.checkout")
+                .description("The time waited to check out a channel, from the cache (hit) or created (miss)")
+                .tags(Tags.concat(tags, "cache", cache))
+                .register(registry);
+    }
+}
@@ -0,0 +1,57 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Helper class to create virtual threads. The library is compiled for Java 8, so the API available since Java 21 is
+ * accessed reflectively.
+ *
+ * @author Wander Costa
+ */
+final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = ReflectionUtils.findMethod(Thread.class, "ofVirtual");
+
+    /**
+     * Private constructor.
+     */
+    private VirtualThreads() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated.");
+    }
+
+    /**
+     * Returns whether the running JVM supports virtual threads.
+     *
+     * @return whether the running JVM supports virtual threads.
+     */
+    static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Returns a {@link ThreadFactory} of virtual threads named with the given prefix followed by a counter.
+     *
+     * @param prefix The prefix of the names of the threads.
+     * @return the {@link ThreadFactory} of virtual threads.
+     * @throws IllegalStateException if the running JVM does not support virtual threads.
+     */
+    static ThreadFactory newThreadFactory(final String prefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later, but running on Java "
+                    + System.getProperty("java.version"));
+        }
+        try {
+            final Class<?> builderClass = ClassUtils.forName("java.lang.Thread$Builder",
+                    VirtualThreads.class.getClassLoader());
+            final Object builder = builderClass.getMethod("name", String.class, long.class)
+                    .invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            throw new IllegalStateException("Failed to create a factory of virtual threads", ex);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.springframework.amqp.rabbit.annotation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminRabbitListenerTest {
+
+    private static final String ADMIN = "broker1-admin";
+
+    @Test
+    @DisplayName("should replace the admin and keep the other attributes")
+    void shouldReplaceAdmin() throws NoSuchMethodException {
+        final RabbitListener original = listener("listenWithoutAdmin");
+
+        final RabbitListener view = AdminRabbitListener.of(original, ADMIN);
+
+        assertThat(view.admin()).isEqualTo(ADMIN);
+        assertThat(view.annotationType()).isEqualTo(RabbitListener.class);
+        assertThat(view.containerFactory()).isEqualTo("broker1");
+        assertThat(view.queues()).containsExactly("queue1");
+        assertThat(view.bindings()).isEqualTo(original.bindings());
+        assertThat(view.autoStartup()).isEqualTo("false");
+        assertThat(view.concurrency()).isEqualTo(original.concurrency());
+        assertThat(view).isNotEqualTo(original);
+    }
+
+    @Test
+    @DisplayName("should be equal to an annotation with the same attributes")
+    void shouldBeEqualToSameAnnotation() throws NoSuchMethodException {
+        final RabbitListener withAdmin = listener("listenWithAdmin");
+
+        final RabbitListener view = AdminRabbitListener.of(listener("listenWithoutAdmin"), ADMIN);
+
+        assertThat(view).isEqualTo(withAdmin);
+        assertThat(withAdmin).isEqualTo(view);
+        assertThat(view.hashCode()).isEqualTo(withAdmin.hashCode());
+    }
+
+    private static RabbitListener listener(final String methodName) throws NoSuchMethodException {
+        return AdminRabbitListenerTest.class.getDeclaredMethod(methodName).getAnnotation(RabbitListener.class);
+    }
+
+    @RabbitListener(containerFactory = "broker1", queues = "queue1", autoStartup = "false")
+    void listenWithoutAdmin() {
+    }
+
+    @RabbitListener(containerFactory = "broker1", queues = "queue1", autoStartup = "false", admin = ADMIN)
+    void listenWithAdmin() {
+    }
+}
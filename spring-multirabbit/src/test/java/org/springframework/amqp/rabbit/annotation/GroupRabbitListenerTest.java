@@ -0,0 +1,71 @@
+package org.springframework.amqp.rabbit.annotation;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.config.RabbitListenerConfigUtils;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.amqp.MultiRabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.stereotype.Component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroupRabbitListenerTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MultiRabbitAutoConfiguration.class,
+                    RabbitAutoConfiguration.class))
+            .withPropertyValues("spring.multirabbitmq.enabled=true")
+            .withPropertyValues("spring.multirabbitmq.connections.broker1.port=5673")
+            .withPropertyValues("spring.multirabbitmq.connections.broker2.port=5674")
+            .withPropertyValues("spring.multirabbitmq.connections.broker3.port=5675");
+
+    @Test
+    void shouldCreateContainerForEachMemberOfGroup() {
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.groups.orders.members=broker1,broker2")
+                .withBean(GroupListenerBeans.class)
+                .run((context) -> {
+                    final RabbitListenerEndpointRegistry registry = context.getBean(
+                            RabbitListenerConfigUtils.RABBIT_LISTENER_ENDPOINT_REGISTRY_BEAN_NAME,
+                            RabbitListenerEndpointRegistry.class);
+                    assertThat(registry.getListenerContainerIds())
+                            .containsExactlyInAnyOrder("orders-broker1", "orders-broker2");
+                    assertThat(((AbstractMessageListenerContainer) registry.getListenerContainer("orders-broker1"))
+                            .getConnectionFactory())
+                            .isNotSameAs(((AbstractMessageListenerContainer) registry
+                                    .getListenerContainer("orders-broker2")).getConnectionFactory());
+
+                    final Map<Object, String> queueAdmins = context
+                            .getBeansOfType(org.springframework.amqp.core.Queue.class).values().stream()
+                            .filter(queue -> queue.getName().equals("orders"))
+                            .collect(Collectors.toMap(queue -> queue.getDeclaringAdmins().iterator().next(),
+                                    org.springframework.amqp.core.Queue::getName));
+                    assertThat(queueAdmins).containsOnlyKeys("broker1-admin", "broker2-admin");
+                });
+    }
+
+    @Test
+    void shouldFailForUnknownGroup() {
+        this.contextRunner
+                .withBean(GroupListenerBeans.class)
+                .run((context) -> assertThat(context).getFailure()
+                        .hasRootCauseInstanceOf(IllegalArgumentException.class)
+                        .hasRootCauseMessage("MultiRabbitMQ group 'orders' does not exist in configuration"));
+    }
+
+    @Component
+    @EnableRabbit
+    private static class GroupListenerBeans {
+
+        @RabbitListener(id = "orders", containerFactory = "group:orders", autoStartup = "false",
+                queuesToDeclare = @Queue("orders"))
+        void listenOrders(final String message) {
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Method;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.context.support.StaticApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BatchingRabbitAdminTest {
+
+    private static final String ADMIN_NAME = "dummy-admin";
+    private static final String ANOTHER_ADMIN_NAME = "another-admin";
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Channel channel;
+
+    private final StaticApplicationContext applicationContext = new StaticApplicationContext();
+
+    @BeforeEach
+    void setUp() {
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createChannel(false)).thenReturn(channel);
+        when(channel.isOpen()).thenReturn(true);
+    }
+
+    private BatchingRabbitAdmin admin(final int channels) {
+        final BatchingRabbitAdmin admin = new BatchingRabbitAdmin(connectionFactory, channels);
+        admin.setApplicationContext(applicationContext);
+        admin.setBeanName(ADMIN_NAME);
+        return admin;
+    }
+
+    private void registerDeclarables() {
+        final DirectExchange exchange = new DirectExchange("exchange");
+        final Queue queue1 = new Queue("queue1");
+        final Queue queue2 = new Queue("queue2");
+        final Binding binding = BindingBuilder.bind(queue1).to(exchange).with("key");
+        applicationContext.getBeanFactory().registerSingleton("exchange", exchange);
+        applicationContext.getBeanFactory().registerSingleton("queue1", queue1);
+        applicationContext.getBeanFactory().registerSingleton("queue2", queue2);
+        applicationContext.getBeanFactory().registerSingleton("binding", binding);
+    }
+
+    @Test
+    void shouldDeclareInBatchesWithoutWaiting() throws Exception {
+        registerDeclarables();
+        final BatchingRabbitAdmin admin = admin(2);
+
+        admin.initialize();
+
+        verify(channel).exchangeDeclareNoWait("exchange", "direct", true, false, false,
+                Collections.emptyMap());
+        verify(channel).queueDeclareNoWait("queue1", true, false, false, Collections.emptyMap());
+        verify(channel).queueDeclareNoWait("queue2", true, false, false, Collections.emptyMap());
+        verify(channel).queueBindNoWait("queue1", "exchange", "key", Collections.emptyMap());
+        verify(channel, atLeastOnce()).exchangeDeclarePassive("amq.direct");
+        verify(channel, never()).queueDeclare(anyString(), anyBoolean(), anyBoolean(), anyBoolean(), anyMap());
+        assertTrue(admin.getLastDeclarationMillis() >= 0);
+    }
+
+    @Test
+    void shouldDeclareInBatchesWhenConnectionIsCreated() throws Exception {
+        registerDeclarables();
+        final com.rabbitmq.client.ConnectionFactory rabbitConnectionFactory
+                = mock(com.rabbitmq.client.ConnectionFactory.class);
+        final com.rabbitmq.client.Connection rabbitConnection = mock(com.rabbitmq.client.Connection.class);
+        when(rabbitConnectionFactory.newConnection((ExecutorService) any(), anyString()))
+                .thenReturn(rabbitConnection);
+        when(rabbitConnection.isOpen()).thenReturn(true);
+        when(rabbitConnection.createChannel()).thenReturn(channel);
+        final CachingConnectionFactory cachingConnectionFactory = new CachingConnectionFactory(rabbitConnectionFactory);
+        final BatchingRabbitAdmin admin = new BatchingRabbitAdmin(cachingConnectionFactory, 4);
+        admin.setApplicationContext(applicationContext);
+        admin.setBeanName(ADMIN_NAME);
+        admin.afterPropertiesSet();
+
+        // the admin is initialized by the listener of the connection factory, while it holds the connection lock
+        assertTimeoutPreemptively(Duration.ofSeconds(10), cachingConnectionFactory::createConnection);
+
+        verify(channel).queueDeclareNoWait("queue1", true, false, false, Collections.emptyMap());
+        verify(channel).queueDeclareNoWait("queue2", true, false, false, Collections.emptyMap());
+        verify(channel).queueBindNoWait("queue1", "exchange", "key", Collections.emptyMap());
+        assertTrue(admin.getLastDeclarationMillis() >= 0);
+        cachingConnectionFactory.destroy();
+    }
+
+    @Test
+    void shouldDeclareOneByOneWhenBatchFails() throws Exception {
+        registerDeclarables();
+        when(channel.exchangeDeclarePassive("amq.direct")).thenThrow(new IOException("batch failed"));
+        when(channel.queueDeclare(anyString(), anyBoolean(), anyBoolean(), anyBoolean(), any()))
+                .thenAnswer(invocation -> new AMQP.Queue.DeclareOk.Builder()
+                        .queue(invocation.getArgument(0)).build());
+
+        admin(1).initialize();
+
+        verify(channel).queueDeclare("queue1", true, false, false, Collections.emptyMap());
+        verify(channel).queueDeclare("queue2", true, false, false, Collections.emptyMap());
+        verify(channel).queueBind("queue1", "exchange", "key", Collections.emptyMap());
+    }
+
+    @Test
+    void shouldOnlyDeclareItemsOfAdmin() throws Exception {
+        final Queue ownQueue = new Queue("own-queue");
+        ownQueue.setAdminsThatShouldDeclare(ADMIN_NAME);
+        final Queue anotherQueue = new Queue("another-queue");
+        anotherQueue.setAdminsThatShouldDeclare(ANOTHER_ADMIN_NAME);
+        applicationContext.getBeanFactory().registerSingleton("ownQueue", ownQueue);
+        applicationContext.getBeanFactory().registerSingleton("anotherQueue", anotherQueue);
+
+        admin(4).initialize();
+
+        verify(channel).queueDeclareNoWait(eq("own-queue"), anyBoolean(), anyBoolean(), anyBoolean(), any());
+        verify(channel, never()).queueDeclareNoWait(eq("another-queue"), anyBoolean(), anyBoolean(), anyBoolean(),
+                any());
+    }
+
+    @Test
+    void shouldOnlyDeclareMissingItemsWhenCached() throws Exception {
+        registerDeclarables();
+        // the broker closes the channel of a batch checking a missing queue, so its barrier fails
+        final AtomicBoolean missingChecked = new AtomicBoolean();
+        doAnswer(invocation -> {
+            final Method method = invocation.getArgument(0);
+            if (method instanceof AMQP.Queue.Declare && ((AMQP.Queue.Declare) method).getQueue().equals("queue1")) {
+                missingChecked.set(true);
+            }
+            return null;
+        }).when(channel).asyncRpc(any(Method.class));
+        when(channel.exchangeDeclarePassive("amq.direct")).thenAnswer(invocation -> {
+            if (missingChecked.getAndSet(false)) {
+                throw new IOException("queue1 not found");
+            }
+            return new AMQP.Exchange.DeclareOk.Builder().build();
+        });
+        final BatchingRabbitAdmin admin = admin(2);
+        admin.setDeclarationCache(true);
+
+        admin.initialize();
+        admin.initialize();
+
+        final ArgumentCaptor<Method> checks = ArgumentCaptor.forClass(Method.class);
+        verify(channel, times(3)).asyncRpc(checks.capture());
+        assertTrue(checks.getAllValues().stream().allMatch(method -> method instanceof AMQP.Exchange.Declare
+                ? ((AMQP.Exchange.Declare) method).getPassive() && ((AMQP.Exchange.Declare) method).getNowait()
+                : ((AMQP.Queue.Declare) method).getPassive() && ((AMQP.Queue.Declare) method).getNowait()));
+        verify(channel, never()).queueDeclarePassive(anyString());
+        verify(channel).exchangeDeclareNoWait("exchange", "direct", true, false, false,
+                Collections.emptyMap());
+        verify(channel, times(2)).queueDeclareNoWait("queue1", true, false, false, Collections.emptyMap());
+        verify(channel).queueDeclareNoWait("queue2", true, false, false, Collections.emptyMap());
+        verify(channel, times(2)).queueBindNoWait("queue1", "exchange", "key", Collections.emptyMap());
+    }
+
+    @Test
+    void shouldAlwaysDeclareBindingsWhenCached() throws Exception {
+        registerDeclarables();
+        final BatchingRabbitAdmin admin = admin(2);
+        admin.setDeclarationCache(true);
+
+        admin.initialize();
+        admin.initialize();
+
+        // a binding deleted in the broker is restored, although its exchange and queue exist
+        verify(channel).queueDeclareNoWait("queue1", true, false, false, Collections.emptyMap());
+        verify(channel, times(2)).queueBindNoWait("queue1", "exchange", "key", Collections.emptyMap());
+    }
+
+    @Test
+    void shouldNotCacheWhenDeclarationFailureIsIgnored() throws Exception {
+        registerDeclarables();
+        final AtomicBoolean failing = new AtomicBoolean(true);
+        when(channel.exchangeDeclarePassive("amq.direct")).thenAnswer(invocation -> {
+            if (failing.get()) {
+                throw new IOException("batch failed");
+            }
+            return new AMQP.Exchange.DeclareOk.Builder().build();
+        });
+        when(channel.queueDeclare(anyString(), anyBoolean(), anyBoolean(), anyBoolean(), any()))
+                .thenThrow(new IOException("queue declaration failed"));
+        final BatchingRabbitAdmin admin = admin(1);
+        admin.setDeclarationCache(true);
+        admin.setIgnoreDeclarationExceptions(true);
+
+        admin.initialize();
+        failing.set(false);
+        admin.initialize();
+
+        verify(channel, never()).asyncRpc(any(Method.class));
+        verify(channel, times(2)).queueDeclareNoWait("queue2", true, false, false, Collections.emptyMap());
+    }
+
+    @Test
+    void shouldDeclareAllItemsWhenDefinitionsChange() throws Exception {
+        registerDeclarables();
+        final BatchingRabbitAdmin admin = admin(2);
+        admin.setDeclarationCache(true);
+
+        admin.initialize();
+        applicationContext.getBeanFactory().registerSingleton("queue3", new Queue("queue3"));
+        admin.initialize();
+
+        verify(channel, never()).asyncRpc(any(Method.class));
+        verify(channel, times(2)).queueDeclareNoWait("queue2", true, false, false, Collections.emptyMap());
+        verify(channel).queueDeclareNoWait("queue3", true, false, false, Collections.emptyMap());
+    }
+
+    @Test
+    void shouldDeclareAllItemsWhenCacheIsDisabled() throws Exception {
+        registerDeclarables();
+        final BatchingRabbitAdmin admin = admin(2);
+
+        admin.initialize();
+        admin.initialize();
+
+        verify(channel, never()).queueDeclarePassive(anyString());
+        verify(channel, times(2)).queueDeclareNoWait("queue2", true, false, false, Collections.emptyMap());
+    }
+}
@@ -5,11 +5,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.SimpleResourceHolder;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -18,10 +30,20 @@ class ConnectionFactoryContextWrapperTest {
 
     private static final String DUMMY_CONTEXT_NAME = "dummy-context-name";
     private static final String DUMMY_RETURN = "dummy-return";
+    private static final String ANOTHER_CONTEXT_NAME = "another-context-name";
 
     @Mock
     private ConnectionFactory connectionFactory;
 
+    @Mock
+    private ConnectionFactory defaultConnectionFactory;
+
+    @Mock
+    private ConnectionFactory targetConnectionFactory;
+
+    @Mock
+    private ConnectionFactory anotherTargetConnectionFactory;
+
     @Mock
     private Runnable runnable;
 
@@ -56,4 +78,155 @@ class ConnectionFactoryContextWrapperTest {
 
         verify(runnable).run();
     }
+
+    @Test
+    void shouldRouteToBoundContextWithRoutingConnectionFactory() throws Exception {
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = routingConnectionFactory();
+        final ConnectionFactoryContextWrapper wrapper = new ConnectionFactoryContextWrapper(routingConnectionFactory);
+
+        wrapper.run(DUMMY_CONTEXT_NAME, routingConnectionFactory::getVirtualHost);
+
+        verify(targetConnectionFactory).getVirtualHost();
+        verify(defaultConnectionFactory, never()).getVirtualHost();
+    }
+
+    @Test
+    void shouldRestorePreviousContextWhenNestingWithRoutingConnectionFactory() throws Exception {
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = routingConnectionFactory();
+        final ConnectionFactoryContextWrapper wrapper = new ConnectionFactoryContextWrapper(routingConnectionFactory);
+
+        wrapper.call(DUMMY_CONTEXT_NAME, () -> {
+            wrapper.run(ANOTHER_CONTEXT_NAME, routingConnectionFactory::getVirtualHost);
+            return routingConnectionFactory.getVirtualHost();
+        });
+        routingConnectionFactory.getVirtualHost();
+
+        verify(anotherTargetConnectionFactory).getVirtualHost();
+        verify(targetConnectionFactory).getVirtualHost();
+        verify(defaultConnectionFactory).getVirtualHost();
+    }
+
+    @Test
+    void shouldUnbindContextWhenFailingWithRoutingConnectionFactory() {
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = routingConnectionFactory();
+        final ConnectionFactoryContextWrapper wrapper = new ConnectionFactoryContextWrapper(routingConnectionFactory);
+
+        assertThrows(IllegalStateException.class, () -> wrapper.run(DUMMY_CONTEXT_NAME, () -> {
+            throw new IllegalStateException("dummy-exception");
+        }));
+        routingConnectionFactory.getVirtualHost();
+
+        verify(defaultConnectionFactory).getVirtualHost();
+        assertTrue(SimpleResourceHolder.getResources().isEmpty());
+    }
+
+    @Test
+    void shouldFailToRouteToUnknownContextWithRoutingConnectionFactory() {
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = routingConnectionFactory();
+        routingConnectionFactory.setLenientFallback(false);
+        final ConnectionFactoryContextWrapper wrapper = new ConnectionFactoryContextWrapper(routingConnectionFactory);
+
+        assertThrows(IllegalStateException.class,
+                () -> wrapper.run("unknown-context-name", routingConnectionFactory::getVirtualHost));
+        verify(defaultConnectionFactory, never()).getVirtualHost();
+    }
+
+    @Test
+    void shouldRouteToContextBoundWithResourceHolderWithRoutingConnectionFactory() {
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = routingConnectionFactory();
+
+        SimpleResourceHolder.bind(routingConnectionFactory, ANOTHER_CONTEXT_NAME);
+        try {
+            routingConnectionFactory.getVirtualHost();
+        } finally {
+            SimpleResourceHolder.unbind(routingConnectionFactory);
+        }
+
+        verify(anotherTargetConnectionFactory).getVirtualHost();
+    }
+
+    @Test
+    void shouldPreferContextOfWrapperOverResourceHolderWithRoutingConnectionFactory() {
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = routingConnectionFactory();
+        final ConnectionFactoryContextWrapper wrapper = new ConnectionFactoryContextWrapper(routingConnectionFactory);
+
+        wrapper.run(DUMMY_CONTEXT_NAME, () -> {
+            SimpleResourceHolder.bind(routingConnectionFactory, ANOTHER_CONTEXT_NAME);
+            try {
+                routingConnectionFactory.getVirtualHost();
+            } finally {
+                SimpleResourceHolder.unbind(routingConnectionFactory);
+            }
+        });
+
+        verify(targetConnectionFactory).getVirtualHost();
+        verify(anotherTargetConnectionFactory, never()).getVirtualHost();
+    }
+
+    @Test
+    void shouldBindContextOnExecutingThreadWhenCallingAsync() throws Exception {
+        when(targetConnectionFactory.getVirtualHost()).thenReturn(DUMMY_RETURN);
+        when(anotherTargetConnectionFactory.getVirtualHost()).thenReturn(ANOTHER_CONTEXT_NAME);
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = routingConnectionFactory();
+        final ConnectionFactoryContextWrapper wrapper = new ConnectionFactoryContextWrapper(routingConnectionFactory);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final CompletableFuture<String> called = wrapper.callAsync(DUMMY_CONTEXT_NAME,
+                    routingConnectionFactory::getVirtualHost, executor);
+            final CompletableFuture<String> supplied = wrapper.supplyAsync(ANOTHER_CONTEXT_NAME,
+                    routingConnectionFactory::getVirtualHost, executor);
+
+            assertEquals(DUMMY_RETURN, called.get());
+            assertEquals(ANOTHER_CONTEXT_NAME, supplied.get());
+            wrapper.runAsync(null, routingConnectionFactory::getVirtualHost, executor).get();
+            verify(defaultConnectionFactory).getVirtualHost();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldUnbindContextOnExecutingThreadWhenFailingAsync() throws Exception {
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = routingConnectionFactory();
+        final ConnectionFactoryContextWrapper wrapper = new ConnectionFactoryContextWrapper(routingConnectionFactory);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final CompletableFuture<String> failed = wrapper.callAsync(DUMMY_CONTEXT_NAME, () -> {
+                throw new Exception("dummy-exception");
+            }, executor);
+
+            assertThrows(CompletionException.class, failed::join);
+            executor.submit(routingConnectionFactory::getVirtualHost).get();
+            verify(defaultConnectionFactory).getVirtualHost();
+            verify(targetConnectionFactory, never()).getVirtualHost();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldCompleteExceptionallyWhenCallingAsyncThrowsError() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final CompletableFuture<String> failed = wrapper().callAsync(DUMMY_CONTEXT_NAME, () -> {
+                throw new AssertionError("dummy-error");
+            }, executor);
+
+            final ExecutionException ex = assertThrows(ExecutionException.class,
+                    () -> failed.get(5, TimeUnit.SECONDS));
+            assertTrue(ex.getCause() instanceof AssertionError);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private MultiRabbitRoutingConnectionFactory routingConnectionFactory() {
+        final Map<Object, ConnectionFactory> targetConnectionFactories = new HashMap<>();
+        targetConnectionFactories.put(DUMMY_CONTEXT_NAME, targetConnectionFactory);
+        targetConnectionFactories.put(ANOTHER_CONTEXT_NAME, anotherTargetConnectionFactory);
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = new MultiRabbitRoutingConnectionFactory();
+        routingConnectionFactory.setTargetConnectionFactories(Collections.unmodifiableMap(targetConnectionFactories));
+        routingConnectionFactory.setDefaultTargetConnectionFactory(defaultConnectionFactory);
+        return routingConnectionFactory;
+    }
 }
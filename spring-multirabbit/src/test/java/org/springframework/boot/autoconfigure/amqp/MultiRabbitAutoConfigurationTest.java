@@ -1,12 +1,18 @@
 package org.springframework.boot.autoconfigure.amqp;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.amqp.core.AbstractExchange;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.Declarable;
 import org.springframework.amqp.core.DirectExchange;
@@ -16,11 +22,16 @@ import org.springframework.amqp.rabbit.annotation.ExtendedMultiRabbitListenerAnn
 import org.springframework.amqp.rabbit.annotation.Queue;
 import org.springframework.amqp.rabbit.annotation.QueueBinding;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.config.DirectRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.config.RabbitListenerConfigUtils;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.connection.RoutingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.SimpleRoutingConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
 import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -29,10 +40,16 @@ import org.springframework.boot.autoconfigure.amqp.MultiRabbitAutoConfiguration.
 import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.rabbit.stream.config.StreamRabbitListenerContainerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * Tests for {@link MultiRabbitAutoConfiguration}.
@@ -159,6 +176,361 @@ class MultiRabbitAutoConfigurationTest {
                 });
     }
 
+    @Test
+    @DisplayName("should configure container factories from the listener properties of each connection")
+    void shouldConfigureContainerFactoriesFromConnectionProperties() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        final String broker2 = ThreeListenersBeans.BROKER_NAME_2;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".listener.simple.prefetch=50")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1
+                        + ".listener.simple.concurrency=2")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1
+                        + ".listener.simple.max-concurrency=8")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1
+                        + ".listener.simple.acknowledge-mode=manual")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2 + ".port=5674")
+                .run((context) -> {
+                    final SimpleRabbitListenerContainerFactory broker1ContainerFactory = context.getBean(broker1,
+                            SimpleRabbitListenerContainerFactory.class);
+                    assertThat(broker1ContainerFactory)
+                            .hasFieldOrPropertyWithValue("prefetchCount", 50)
+                            .hasFieldOrPropertyWithValue("concurrentConsumers", 2)
+                            .hasFieldOrPropertyWithValue("maxConcurrentConsumers", 8)
+                            .hasFieldOrPropertyWithValue("acknowledgeMode", AcknowledgeMode.MANUAL);
+
+                    final SimpleRabbitListenerContainerFactory broker2ContainerFactory = context.getBean(broker2,
+                            SimpleRabbitListenerContainerFactory.class);
+                    assertThat(broker2ContainerFactory)
+                            .hasFieldOrPropertyWithValue("prefetchCount", null)
+                            .hasFieldOrPropertyWithValue("concurrentConsumers", null);
+                });
+    }
+
+    @Test
+    @DisplayName("should create container factories of the listener type of each connection")
+    void shouldCreateContainerFactoriesOfConnectionListenerType() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        final String broker2 = ThreeListenersBeans.BROKER_NAME_2;
+        final String broker3 = "broker3";
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".listener.type=direct")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1
+                        + ".listener.direct.consumers-per-queue=3")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2 + ".port=5674")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2 + ".listener.type=stream")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker3 + ".port=5675")
+                .run((context) -> {
+                    assertThat(context.getBean(broker1))
+                            .isInstanceOf(DirectRabbitListenerContainerFactory.class)
+                            .hasFieldOrPropertyWithValue("consumersPerQueue", 3);
+                    assertThat(context.getBean(broker2)).isInstanceOf(StreamRabbitListenerContainerFactory.class);
+                    assertThat(context.getBean(broker3)).isInstanceOf(SimpleRabbitListenerContainerFactory.class);
+
+                    final SimpleRoutingConnectionFactory routingConnectionFactory = context
+                            .getBean(SimpleRoutingConnectionFactory.class);
+                    assertThat(routingConnectionFactory.getTargetConnectionFactory(broker2).getPort())
+                            .isEqualTo(5674);
+                });
+    }
+
+    @Test
+    @DisplayName("should share a single executor with the listener containers of all connections")
+    void shouldShareExecutorWithContainerFactories() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        final String broker2 = ThreeListenersBeans.BROKER_NAME_2;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.shared-executor.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.shared-executor.max-size=16")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2 + ".port=5674")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2 + ".listener.type=direct")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".listener.simple.concurrency=2")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1
+                        + ".listener.simple.max-concurrency=6")
+                .run((context) -> {
+                    final MultiRabbitSharedExecutor sharedExecutor = sharedExecutor(context);
+                    final AbstractMessageListenerContainer container1 = createContainer(context, broker1, "listener1");
+                    final AbstractMessageListenerContainer container2 = createContainer(context, broker2, "listener2");
+
+                    assertThat(sharedExecutor.getReservedThreads()).isEqualTo(7);
+                    assertThat(sharedExecutor.getReservedThreads(container1.getConnectionFactory())).isEqualTo(6);
+                    assertThat(sharedExecutor.getExecutor())
+                            .isInstanceOfSatisfying(ThreadPoolTaskExecutor.class,
+                                    executor -> assertThat(executor.getMaxPoolSize()).isEqualTo(16));
+                    assertThat(ReflectionTestUtils.getField(container1, "taskExecutor"))
+                            .isNotNull()
+                            .isNotSameAs(ReflectionTestUtils.getField(container2, "taskExecutor"));
+                });
+    }
+
+    @Test
+    @DisplayName("should reserve the listener threads of each container of a connection in the shared executor")
+    void shouldReserveListenerThreadsOfEachContainer() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.shared-executor.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .run((context) -> {
+                    final AbstractMessageListenerContainer container1 = createContainer(context, broker1, "listener1");
+                    final AbstractMessageListenerContainer container2 = createContainer(context, broker1, "listener2");
+                    assertThat(sharedExecutor(context).getReservedThreads()).isEqualTo(2);
+
+                    // the consumer of each listener runs while the one of the other is still running
+                    final CountDownLatch consumed = new CountDownLatch(1);
+                    final CountDownLatch completed = new CountDownLatch(1);
+                    ((Executor) ReflectionTestUtils.getField(container1, "taskExecutor")).execute(() -> {
+                        try {
+                            if (consumed.await(10, TimeUnit.SECONDS)) {
+                                completed.countDown();
+                            }
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                    ((Executor) ReflectionTestUtils.getField(container2, "taskExecutor")).execute(consumed::countDown);
+                    assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+                });
+    }
+
+    @Test
+    @DisplayName("should fail when the containers of a connection exceed its listener threads")
+    void shouldFailWhenContainersExceedListenerThreads() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.shared-executor.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".listener-threads=4")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1
+                        + ".listener.simple.max-concurrency=3")
+                .run((context) -> {
+                    createContainer(context, broker1, "listener1");
+
+                    assertThatThrownBy(() -> createContainer(context, broker1, "listener2"))
+                            .isInstanceOf(IllegalStateException.class)
+                            .hasMessage("MultiRabbitMQ broker 'broker1' needs 3 listener threads for container "
+                                    + "'listener2', but only 1 of its 4 listener-threads are left");
+                });
+    }
+
+    @Test
+    @DisplayName("should fail when the listener threads of the containers exceed the shared executor")
+    void shouldFailWhenListenerThreadsExceedSharedExecutor() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        final String broker2 = ThreeListenersBeans.BROKER_NAME_2;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.shared-executor.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.shared-executor.max-size=8")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1
+                        + ".listener.simple.max-concurrency=6")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2 + ".port=5674")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2
+                        + ".listener.simple.max-concurrency=4")
+                .run((context) -> {
+                    createContainer(context, broker1, "listener1");
+
+                    assertThatThrownBy(() -> createContainer(context, broker2, "listener2"))
+                            .isInstanceOf(IllegalStateException.class)
+                            .hasMessage("MultiRabbitMQ broker 'broker2' needs 4 listener threads, but only 2 of "
+                                    + "the 8 threads of the shared executor are left");
+                });
+    }
+
+    @Test
+    @DisplayName("should not share executors with the container factories by default")
+    void shouldNotShareExecutorWithContainerFactoriesByDefault() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .run((context) -> assertThat(ReflectionTestUtils.getField(context.getBean(broker1),
+                        "taskExecutor")).isNull());
+    }
+
+    @Test
+    @DisplayName("should use virtual threads in the container factories when enabled")
+    void shouldUseVirtualThreadsInContainerFactories() {
+        assumeTrue(VirtualThreads.isSupported());
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.virtual-threads.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .run((context) -> assertThat(ReflectionTestUtils.getField(context.getBean(broker1),
+                        "taskExecutor")).isInstanceOf(SimpleAsyncTaskExecutor.class));
+    }
+
+    @Test
+    @DisplayName("should fail to enable virtual threads when not supported by the JVM")
+    void shouldFailToUseVirtualThreadsWhenNotSupported() {
+        assumeFalse(VirtualThreads.isSupported());
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.virtual-threads.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .run((context) -> assertThat(context).getFailure()
+                        .hasRootCauseInstanceOf(IllegalStateException.class)
+                        .hasRootCauseMessage("Virtual threads require Java 21 or later, but running on Java "
+                                + System.getProperty("java.version")));
+    }
+
+    @Test
+    @DisplayName("should initialize connections in parallel when enabled")
+    void shouldInitializeConnectionsInParallel() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        final String broker2 = ThreeListenersBeans.BROKER_NAME_2;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.initialization-parallelism=4")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2 + ".port=5674")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2 + ".listener.type=direct")
+                .run((context) -> {
+                    final SimpleRoutingConnectionFactory routingConnectionFactory = context.getBean(
+                            SimpleRoutingConnectionFactory.class);
+                    assertThat(routingConnectionFactory.getTargetConnectionFactory(broker1))
+                            .hasFieldOrPropertyWithValue("port", 5673);
+                    assertThat(routingConnectionFactory.getTargetConnectionFactory(broker2))
+                            .hasFieldOrPropertyWithValue("port", 5674);
+                    assertThat(context.getBean(broker1)).isInstanceOf(SimpleRabbitListenerContainerFactory.class);
+                    assertThat(context.getBean(broker2)).isInstanceOf(DirectRabbitListenerContainerFactory.class);
+                    assertThat(context.getBean(broker2 + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX))
+                            .isInstanceOf(RabbitAdmin.class);
+                });
+    }
+
+    @Test
+    @DisplayName("should report the failure of a connection initialized in parallel")
+    void shouldReportFailureOfConnectionInitializedInParallel() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        final String broker2 = ThreeListenersBeans.BROKER_NAME_2;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.initialization-parallelism=4")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2 + ".ssl.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2
+                        + ".ssl.key-store=classpath:missing.jks")
+                .run((context) -> assertThat(context).getFailure()
+                        .hasStackTraceContaining("missing.jks"));
+    }
+
+    @Test
+    @DisplayName("should defer the listener containers of lazy connections")
+    void shouldDeferListenerContainersOfLazyConnections() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        final String broker2 = ThreeListenersBeans.BROKER_NAME_2;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".lazy=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2 + ".port=5674")
+                .run((context) -> {
+                    final MultiRabbitConnectionStarter starter = context.getBean(MultiRabbitConnectionStarter.class);
+                    assertThat(starter.isLazy(broker1)).isTrue();
+                    assertThat(starter.isLazy(broker2)).isFalse();
+                    assertThat(ReflectionTestUtils.getField(context.getBean(broker1), "containerCustomizer"))
+                            .isNotNull();
+                    assertThat(ReflectionTestUtils.getField(context.getBean(broker2), "containerCustomizer"))
+                            .isNull();
+                });
+    }
+
+    @Test
+    @DisplayName("should declare in batches when enabled")
+    void shouldDeclareInBatchesWhenEnabled() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.declarations.batched=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .run((context) -> assertThat(context.getBean(broker1 + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX))
+                        .isInstanceOf(BatchingRabbitAdmin.class));
+    }
+
+    @Test
+    @DisplayName("should register meters tagged with the connection name when a MeterRegistry is available")
+    void shouldRegisterMetersPerConnection() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(MultiRabbitMetricsAutoConfiguration.class))
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .run((context) -> {
+                    final MeterRegistry registry = context.getBean(MeterRegistry.class);
+                    assertThat(registry.find("rabbitmq.connections").tag("name", broker1).gauge()).isNotNull();
+                    assertThat(registry.find("rabbitmq.consumers").tag("name", broker1).gauge()).isNotNull();
+                    assertThat(registry.find("rabbitmq.channels.idle").tag("name", broker1).gauge()).isNotNull();
+                    assertThat(registry.find("rabbitmq.connections")
+                            .tag("name", MultiRabbitMetrics.DEFAULT_CONNECTION_NAME).gauge()).isNotNull();
+                    assertThat(context.getBean(MultiRabbitTemplates.class).get(broker1))
+                            .isInstanceOf(TimedRabbitTemplate.class);
+                });
+    }
+
+    @Test
+    @DisplayName("should contribute the health of each connection")
+    void shouldContributeHealthOfEachConnection() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(MultiRabbitHealthContributorAutoConfiguration.class))
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.health.time-to-live=30s")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .run((context) -> {
+                    final MultiRabbitHealthContributor contributor = context.getBean(
+                            "multiRabbitHealthContributor", MultiRabbitHealthContributor.class);
+                    assertThat(contributor.getContributor(broker1)).isNotNull();
+                    assertThat(context.getBean(MultiRabbitProperties.class).getHealth().getTimeToLive())
+                            .hasSeconds(30);
+                });
+    }
+
+    @Test
+    @DisplayName("should not contribute health when disabled")
+    void shouldNotContributeHealthWhenDisabled() {
+        this.contextRunner
+                .withConfiguration(AutoConfigurations.of(MultiRabbitHealthContributorAutoConfiguration.class))
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("management.health.multirabbit.enabled=false")
+                .run((context) -> assertThat(context).doesNotHaveBean("multiRabbitHealthContributor"));
+    }
+
+    @Test
+    @DisplayName("should provide a template per connection bound to its connection factory")
+    void shouldProvideTemplatePerConnection() {
+        final String broker1 = ThreeListenersBeans.BROKER_NAME_1;
+        final String broker2 = ThreeListenersBeans.BROKER_NAME_2;
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".port=5673")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker1 + ".template.exchange=exchange1")
+                .withPropertyValues("spring.multirabbitmq.connections." + broker2 + ".port=5674")
+                .run((context) -> {
+                    final MultiRabbitTemplates templates = context.getBean(MultiRabbitTemplates.class);
+                    final SimpleRoutingConnectionFactory routingConnectionFactory = context.getBean(
+                            SimpleRoutingConnectionFactory.class);
+                    assertThat(templates.getTemplates()).containsOnlyKeys(broker1, broker2);
+                    assertThat(templates.get(broker1).getConnectionFactory())
+                            .isSameAs(routingConnectionFactory.getTargetConnectionFactory(broker1));
+                    assertThat(templates.get(broker1).getExchange()).isEqualTo("exchange1");
+                    assertThat(templates.get(broker2).getExchange()).isEmpty();
+                    assertThat(context.getBean(RabbitTemplate.class)).isNotIn(templates.getTemplates().values());
+                    assertThatThrownBy(() -> templates.get("unknown")).isInstanceOf(IllegalArgumentException.class);
+                });
+    }
+
     // TODO https://github.com/freenowtech/spring-multirabbit/issues/49
     @Test
     @DisplayName("should ensure MultiRabbit AnnotationBeanPostProcessor")
@@ -266,6 +638,23 @@ class MultiRabbitAutoConfigurationTest {
         return bindings.stream().collect(Collectors.toMap(Binding::getRoutingKey, v -> v));
     }
 
+    private static MultiRabbitSharedExecutor sharedExecutor(final AssertableApplicationContext context) {
+        return (MultiRabbitSharedExecutor) ReflectionTestUtils.getField(
+                context.getBean(MultiRabbitConnectionFactoryCreator.class), "sharedExecutor");
+    }
+
+    private static AbstractMessageListenerContainer createContainer(final AssertableApplicationContext context,
+                                                                    final String containerFactory,
+                                                                    final String id) {
+        final SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setId(id);
+        endpoint.setQueueNames(id);
+        endpoint.setMessageListener(message -> {
+        });
+        return (AbstractMessageListenerContainer) context.getBean(containerFactory,
+                RabbitListenerContainerFactory.class).createListenerContainer(endpoint);
+    }
+
     @Component
     @EnableRabbit
     private static class ThreeListenersBeans {
@@ -5,6 +5,7 @@ import com.rabbitmq.client.impl.CredentialsRefreshService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
@@ -15,11 +16,15 @@ import org.springframework.amqp.rabbit.connection.RoutingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.SimpleResourceHolder;
 import org.springframework.amqp.rabbit.connection.SimpleRoutingConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.mock.env.MockEnvironment;
 
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -57,6 +62,15 @@ class MultiRabbitConnectionFactoryCreatorTest {
     @Mock
     private ObjectProvider<ConnectionFactoryCustomizer> connectionFactoryCustomizer;
 
+    @Mock
+    private ObjectProvider<MessageConverter> messageConverter;
+
+    @Mock
+    private ObjectProvider<MessageRecoverer> messageRecoverer;
+
+    @Mock
+    private ObjectProvider<RabbitRetryTemplateCustomizer> retryTemplateCustomizers;
+
     @Mock
     private ConnectionFactory connectionFactory0;
 
@@ -72,8 +86,7 @@ class MultiRabbitConnectionFactoryCreatorTest {
     @Mock
     private RabbitProperties rabbitProperties;
 
-    @Mock
-    private RabbitProperties secondaryRabbitProperties;
+    private final RabbitProperties secondaryRabbitProperties = new RabbitProperties();
 
     @Mock
     private MultiRabbitProperties multiRabbitProperties;
@@ -89,9 +102,11 @@ class MultiRabbitConnectionFactoryCreatorTest {
 
     private MultiRabbitAutoConfiguration.MultiRabbitConnectionFactoryCreator creator() {
         final MultiRabbitAutoConfiguration.MultiRabbitConnectionFactoryCreator config
-                = new MultiRabbitAutoConfiguration.MultiRabbitConnectionFactoryCreator(springFactoryCreator);
+                = new MultiRabbitAutoConfiguration.MultiRabbitConnectionFactoryCreator(springFactoryCreator,
+                messageConverter, messageRecoverer, retryTemplateCustomizers);
         config.setBeanFactory(beanFactory);
         config.setApplicationContext(applicationContext);
+        config.setEnvironment(new MockEnvironment());
         return config;
     }
 
@@ -182,6 +197,39 @@ class MultiRabbitConnectionFactoryCreatorTest {
         verifyNoMoreInteractions(beanFactory);
     }
 
+    @Test
+    void shouldRegisterRabbitAdminOfEntry() throws Exception {
+        final MultiRabbitConnectionFactoryWrapper externalWrapper = new MultiRabbitConnectionFactoryWrapper();
+        externalWrapper.setDefaultConnectionFactory(connectionFactory0);
+        externalWrapper.addConnectionFactory(DUMMY_KEY, connectionFactory1, containerFactory, rabbitAdmin);
+
+        creator().routingConnectionFactory(rabbitProperties, multiRabbitProperties, externalWrapper, resourceLoader,
+                credentialsProvider, credentialsRefreshService, connectionNameStrategy, connectionFactoryCustomizer);
+
+        verify(beanFactory).registerSingleton(DUMMY_KEY + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX, rabbitAdmin);
+        verify(rabbitAdmin).setBeanName(DUMMY_KEY + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX);
+        verify(rabbitAdmin).afterPropertiesSet();
+    }
+
+    @Test
+    void shouldRegisterSharedRabbitAdminOnce() throws Exception {
+        final String anotherKey = "another-key";
+        final MultiRabbitConnectionFactoryWrapper externalWrapper = new MultiRabbitConnectionFactoryWrapper();
+        externalWrapper.setDefaultConnectionFactory(connectionFactory0);
+        externalWrapper.addConnectionFactory(DUMMY_KEY, connectionFactory1, null, rabbitAdmin);
+        externalWrapper.addConnectionFactory(anotherKey, connectionFactory1, null, rabbitAdmin);
+
+        creator().routingConnectionFactory(rabbitProperties, multiRabbitProperties, externalWrapper, resourceLoader,
+                credentialsProvider, credentialsRefreshService, connectionNameStrategy, connectionFactoryCustomizer);
+
+        final ArgumentCaptor<String> beanName = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<String> alias = ArgumentCaptor.forClass(String.class);
+        verify(beanFactory).registerSingleton(beanName.capture(), eq(rabbitAdmin));
+        verify(beanFactory).registerAlias(eq(beanName.getValue()), alias.capture());
+        assertNotEquals(beanName.getValue(), alias.getValue());
+        verify(rabbitAdmin).afterPropertiesSet();
+    }
+
     @Test
     void shouldReachDefaultConnectionFactoryWhenNotBound() throws Exception {
         final MultiRabbitConnectionFactoryWrapper externalWrapper = new MultiRabbitConnectionFactoryWrapper();
@@ -0,0 +1,254 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import com.rabbitmq.client.Channel;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionListener;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.DirectFieldAccessor;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MultiRabbitConnectionStarterTest {
+
+    private static final String DUMMY_KEY = "dummy-key";
+    private static final String SLOW_KEY = "slow-key";
+    private static final long TIMEOUT = 5000;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Channel channel;
+
+    @Mock
+    private SimpleRabbitListenerContainerFactory containerFactory;
+
+    @Mock
+    private SimpleMessageListenerContainer container;
+
+    @Mock
+    private SimpleMessageListenerContainer manualContainer;
+
+    @Mock
+    private SimpleRabbitListenerContainerFactory slowContainerFactory;
+
+    @Mock
+    private SimpleMessageListenerContainer slowContainer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStartDeferredContainersInBackgroundOnFirstUse() {
+        final MultiRabbitConnectionStarter starter = new MultiRabbitConnectionStarter();
+        starter.deferContainers(DUMMY_KEY, connectionFactory, containerFactory);
+
+        final ArgumentCaptor<ContainerCustomizer<SimpleMessageListenerContainer>> customizer
+                = ArgumentCaptor.forClass(ContainerCustomizer.class);
+        verify(containerFactory).setContainerCustomizer(customizer.capture());
+
+        when(container.isAutoStartup()).thenReturn(true);
+        customizer.getValue().configure(container);
+        customizer.getValue().configure(manualContainer);
+        verify(container).setAutoStartup(false);
+        verify(manualContainer, never()).setAutoStartup(false);
+        assertTrue(starter.isLazy(DUMMY_KEY));
+
+        final CountDownLatch slowBroker = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            slowBroker.await();
+            return null;
+        }).when(container).start();
+
+        starter.start();
+        verify(container, after(200).never()).start();
+
+        connectionListener().onCreate(connection);
+
+        slowBroker.countDown();
+        verify(container, timeout(TIMEOUT)).start();
+        verify(manualContainer, never()).start();
+        verify(connectionFactory, never()).createConnection();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStartDeferredContainersWhenStartedAfterFirstUse() {
+        final MultiRabbitConnectionStarter starter = new MultiRabbitConnectionStarter();
+        starter.deferContainers(DUMMY_KEY, connectionFactory, containerFactory);
+        final ArgumentCaptor<ContainerCustomizer<SimpleMessageListenerContainer>> customizer
+                = ArgumentCaptor.forClass(ContainerCustomizer.class);
+        verify(containerFactory).setContainerCustomizer(customizer.capture());
+        when(container.isAutoStartup()).thenReturn(true);
+        customizer.getValue().configure(container);
+
+        connectionListener().onCreate(connection);
+        verify(container, never()).start();
+
+        starter.start();
+
+        verify(container, timeout(TIMEOUT)).start();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStartDeferredContainersAgainWhenRestarted() {
+        final MultiRabbitConnectionStarter starter = new MultiRabbitConnectionStarter();
+        starter.deferContainers(DUMMY_KEY, connectionFactory, containerFactory);
+        starter.startInParallel(SLOW_KEY, connectionFactory, slowContainerFactory, Duration.ofSeconds(5));
+
+        final ArgumentCaptor<ContainerCustomizer<SimpleMessageListenerContainer>> customizer
+                = ArgumentCaptor.forClass(ContainerCustomizer.class);
+        final ArgumentCaptor<ContainerCustomizer<SimpleMessageListenerContainer>> slowCustomizer
+                = ArgumentCaptor.forClass(ContainerCustomizer.class);
+        verify(containerFactory).setContainerCustomizer(customizer.capture());
+        verify(slowContainerFactory).setContainerCustomizer(slowCustomizer.capture());
+        when(container.isAutoStartup()).thenReturn(true);
+        when(slowContainer.isAutoStartup()).thenReturn(true);
+        customizer.getValue().configure(container);
+        slowCustomizer.getValue().configure(slowContainer);
+        connectionListener().onCreate(connection);
+
+        starter.start();
+        starter.stop();
+        starter.start();
+
+        verify(container, timeout(TIMEOUT).times(2)).start();
+        verify(slowContainer, times(2)).start();
+    }
+
+    @Test
+    void shouldKeepExistingContainerCustomizer() {
+        final SimpleRabbitListenerContainerFactory realContainerFactory = new SimpleRabbitListenerContainerFactory();
+        realContainerFactory.setContainerCustomizer(customized -> customized.setPrefetchCount(10));
+        final MultiRabbitConnectionStarter starter = new MultiRabbitConnectionStarter();
+
+        starter.deferContainers(DUMMY_KEY, connectionFactory, realContainerFactory);
+
+        when(container.isAutoStartup()).thenReturn(true);
+        customizer(realContainerFactory).configure(container);
+        verify(container).setPrefetchCount(10);
+        verify(container).setAutoStartup(false);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldNotStartContainersOfRemovedConnection() {
+        final MultiRabbitConnectionStarter starter = new MultiRabbitConnectionStarter();
+        final ConnectionFactory newConnectionFactory = mock(ConnectionFactory.class);
+        starter.deferContainers(DUMMY_KEY, connectionFactory, containerFactory);
+        starter.deferContainers(SLOW_KEY, connectionFactory, slowContainerFactory);
+        starter.deferContainers(SLOW_KEY, newConnectionFactory, slowContainerFactory);
+
+        starter.remove(DUMMY_KEY, connectionFactory);
+        starter.remove(SLOW_KEY, connectionFactory);
+
+        assertFalse(starter.isLazy(DUMMY_KEY));
+        assertTrue(starter.isLazy(SLOW_KEY));
+    }
+
+    @Test
+    void shouldWarmUpConnectionWhenStarted() {
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createChannel(false)).thenReturn(channel);
+        final MultiRabbitConnectionStarter starter = new MultiRabbitConnectionStarter();
+        starter.warmUp(DUMMY_KEY, connectionFactory, 3);
+        assertFalse(starter.isLazy(DUMMY_KEY));
+
+        starter.start();
+
+        verify(connection, timeout(TIMEOUT).times(3)).createChannel(false);
+        assertTrue(starter.isRunning());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStartContainersInParallelWhenStarted() {
+        final MultiRabbitConnectionStarter starter = new MultiRabbitConnectionStarter();
+        starter.startInParallel(DUMMY_KEY, connectionFactory, containerFactory, Duration.ofSeconds(5));
+        starter.startInParallel(SLOW_KEY, connectionFactory, slowContainerFactory, Duration.ofMillis(100));
+
+        final ArgumentCaptor<ContainerCustomizer<SimpleMessageListenerContainer>> customizer
+                = ArgumentCaptor.forClass(ContainerCustomizer.class);
+        final ArgumentCaptor<ContainerCustomizer<SimpleMessageListenerContainer>> slowCustomizer
+                = ArgumentCaptor.forClass(ContainerCustomizer.class);
+        verify(containerFactory).setContainerCustomizer(customizer.capture());
+        verify(slowContainerFactory).setContainerCustomizer(slowCustomizer.capture());
+
+        when(container.isAutoStartup()).thenReturn(true);
+        when(slowContainer.isAutoStartup()).thenReturn(true);
+        customizer.getValue().configure(container);
+        customizer.getValue().configure(manualContainer);
+        slowCustomizer.getValue().configure(slowContainer);
+        verify(container).setAutoStartup(false);
+        verify(slowContainer).setAutoStartup(false);
+        verify(manualContainer, never()).setAutoStartup(false);
+        assertTrue(starter.isStartedInParallel(DUMMY_KEY));
+        assertFalse(starter.isLazy(DUMMY_KEY));
+
+        final CountDownLatch slowBroker = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            slowBroker.await();
+            return null;
+        }).when(slowContainer).start();
+
+        starter.start();
+
+        verify(container).start();
+        verify(manualContainer, never()).start();
+        slowBroker.countDown();
+        verify(slowContainer, timeout(TIMEOUT)).start();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldNotDeferContainersCreatedOnceStarted() {
+        final MultiRabbitConnectionStarter starter = new MultiRabbitConnectionStarter();
+        starter.start();
+        starter.startInParallel(DUMMY_KEY, connectionFactory, containerFactory, Duration.ofSeconds(5));
+
+        final ArgumentCaptor<ContainerCustomizer<SimpleMessageListenerContainer>> customizer
+                = ArgumentCaptor.forClass(ContainerCustomizer.class);
+        verify(containerFactory).setContainerCustomizer(customizer.capture());
+        when(container.isAutoStartup()).thenReturn(true);
+        customizer.getValue().configure(container);
+
+        verify(container, never()).setAutoStartup(false);
+    }
+
+    private ConnectionListener connectionListener() {
+        final ArgumentCaptor<ConnectionListener> connectionListener = ArgumentCaptor.forClass(ConnectionListener.class);
+        verify(connectionFactory, atLeastOnce()).addConnectionListener(connectionListener.capture());
+        return connectionListener.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ContainerCustomizer<SimpleMessageListenerContainer> customizer(
+            final SimpleRabbitListenerContainerFactory containerFactory) {
+        return (ContainerCustomizer<SimpleMessageListenerContainer>) new DirectFieldAccessor(containerFactory)
+                .getPropertyValue("containerCustomizer");
+    }
+}
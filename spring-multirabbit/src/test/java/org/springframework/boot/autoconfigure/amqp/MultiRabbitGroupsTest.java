@@ -0,0 +1,175 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class MultiRabbitGroupsTest {
+
+    private static final String GROUP_NAME = "orders";
+    private static final int KEYS = 100_000;
+
+    private final MultiRabbitTemplates templates = new MultiRabbitTemplates();
+
+    @Test
+    @DisplayName("should spread the keys evenly over the members")
+    void shouldSpreadKeysEvenly() {
+        final MultiRabbitGroups groups = groups(group("broker1", "broker2", "broker3", "broker4"));
+
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(groups.route(GROUP_NAME, "order-" + i), 1, Integer::sum);
+        }
+
+        assertThat(counts).containsOnlyKeys("broker1", "broker2", "broker3", "broker4");
+        counts.values().forEach(count -> assertThat(count).isBetween(KEYS / 4 * 80 / 100, KEYS / 4 * 120 / 100));
+    }
+
+    @Test
+    @DisplayName("should only move the keys of a member joining the group")
+    void shouldOnlyMoveKeysOfJoiningMember() {
+        final MultiRabbitGroups groups = groups(group("broker1", "broker2", "broker3", "broker4"));
+        final String[] before = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            before[i] = groups.route(GROUP_NAME, "order-" + i);
+        }
+
+        groups.update(GROUP_NAME, group("broker1", "broker2", "broker3", "broker4", "broker5"));
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            final String after = groups.route(GROUP_NAME, "order-" + i);
+            if (!after.equals(before[i])) {
+                assertThat(after).isEqualTo("broker5");
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(KEYS / 5 * 80 / 100, KEYS / 5 * 120 / 100);
+    }
+
+    @Test
+    @DisplayName("should only move the keys of a member removed from the group")
+    void shouldOnlyMoveKeysOfRemovedMember() {
+        final MultiRabbitGroups groups = groups(group("broker1", "broker2", "broker3", "broker4"));
+        final String[] before = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            before[i] = groups.route(GROUP_NAME, "order-" + i);
+        }
+
+        groups.removeMember("broker4");
+
+        assertThat(groups.getMembers(GROUP_NAME)).containsExactly("broker1", "broker2", "broker3");
+        for (int i = 0; i < KEYS; i++) {
+            final String after = groups.route(GROUP_NAME, "order-" + i);
+            assertThat(after).isNotEqualTo("broker4");
+            if (!before[i].equals("broker4")) {
+                assertThat(after).isEqualTo(before[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should fail to remove the last member of a group")
+    void shouldFailToRemoveLastMember() {
+        final MultiRabbitGroups groups = new MultiRabbitGroups(templates, new HashMap<>());
+        groups.update(GROUP_NAME, group("broker1", "broker2"));
+        groups.update("payments", group("broker2"));
+
+        assertThatThrownBy(() -> groups.removeMember("broker2"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("MultiRabbitMQ broker 'broker2' is the last member of group 'payments' and cannot be "
+                        + "removed");
+        assertThat(groups.getMembers(GROUP_NAME)).containsExactly("broker1", "broker2");
+        assertThat(groups.getMembers("payments")).containsExactly("broker2");
+    }
+
+    @Test
+    @DisplayName("should route by the key header, regardless of the order of the members")
+    void shouldRouteByKeyHeader() {
+        final MultiRabbitProperties.Group group = group("broker1", "broker2", "broker3");
+        group.setKeyHeader("customerId");
+        final MultiRabbitGroups groups = groups(group);
+        final MultiRabbitGroups reordered = groups(group("broker3", "broker1", "broker2"));
+
+        final MessageProperties properties = new MessageProperties();
+        properties.setHeader("customerId", "customer-42");
+        final Message message = new Message(new byte[0], properties);
+
+        assertThat(groups.route(GROUP_NAME, "any-routing-key", message))
+                .isEqualTo(reordered.route(GROUP_NAME, "customer-42"));
+        assertThat(groups.route(GROUP_NAME, "routing-key", new Message(new byte[0], new MessageProperties())))
+                .isEqualTo(reordered.route(GROUP_NAME, "routing-key"));
+    }
+
+    @Test
+    @DisplayName("should send with the template of the member owning the key")
+    void shouldSendWithTemplateOfMember() {
+        final MultiRabbitGroups groups = groups(group("broker1", "broker2"));
+        final Message message = new Message(new byte[0], new MessageProperties());
+
+        final String member = groups.send(GROUP_NAME, "exchange", "routing-key", message);
+
+        assertThat(member).isEqualTo(groups.route(GROUP_NAME, "routing-key"));
+        verify(templates.get(member)).send("exchange", "routing-key", message);
+    }
+
+    @Test
+    @DisplayName("should fail for unknown groups and members")
+    void shouldFailForUnknownGroupsAndMembers() {
+        final MultiRabbitGroups groups = groups(group("broker1"));
+
+        assertThatThrownBy(() -> groups.route("unknown", "key"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("MultiRabbitMQ group 'unknown' does not exist in configuration");
+        final MultiRabbitProperties.Group unknownMember = new MultiRabbitProperties.Group();
+        unknownMember.setMembers(Arrays.asList("broker1", "unknown"));
+        assertThatThrownBy(() -> groups.update(GROUP_NAME, unknownMember))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("MultiRabbitMQ group 'orders' member 'unknown' does not exist in configuration");
+        assertThatThrownBy(() -> groups.update(GROUP_NAME, group()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("MultiRabbitMQ group 'orders' has no members");
+        assertThat(groups.getMembers(GROUP_NAME)).containsExactly("broker1");
+    }
+
+    @Test
+    @DisplayName("should configure the groups from the properties")
+    void shouldConfigureGroupsFromProperties() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(MultiRabbitAutoConfiguration.class,
+                        RabbitAutoConfiguration.class))
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.connections.broker1.port=5673")
+                .withPropertyValues("spring.multirabbitmq.connections.broker2.port=5674")
+                .withPropertyValues("spring.multirabbitmq.groups." + GROUP_NAME + ".members=broker1,broker2")
+                .run((context) -> assertThat(context.getBean(MultiRabbitGroups.class).getMembers(GROUP_NAME))
+                        .containsExactly("broker1", "broker2"));
+    }
+
+    private MultiRabbitGroups groups(final MultiRabbitProperties.Group group) {
+        return new MultiRabbitGroups(templates, Collections.singletonMap(GROUP_NAME, group));
+    }
+
+    private MultiRabbitProperties.Group group(final String... members) {
+        final List<String> names = Arrays.asList(members);
+        names.forEach(name -> templates.put(name, mock(RabbitTemplate.class)));
+        final MultiRabbitProperties.Group group = new MultiRabbitProperties.Group();
+        group.setMembers(names);
+        return group;
+    }
+}
@@ -0,0 +1,156 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import com.rabbitmq.client.Channel;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionListener;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MultiRabbitHealthContributorTest {
+
+    private static final String DUMMY_KEY = "dummy-key";
+    private static final String ANOTHER_KEY = "another-key";
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private ConnectionFactory anotherConnectionFactory;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Channel channel;
+
+    @Mock
+    private com.rabbitmq.client.Connection rabbitConnection;
+
+    private final MultiRabbitRoutingConnectionFactory routingConnectionFactory
+            = new MultiRabbitRoutingConnectionFactory();
+
+    @BeforeEach
+    void setUp() {
+        final Map<Object, ConnectionFactory> targets = new HashMap<>();
+        targets.put(DUMMY_KEY, connectionFactory);
+        targets.put(ANOTHER_KEY, anotherConnectionFactory);
+        routingConnectionFactory.setTargetConnectionFactories(targets);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(anotherConnectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createChannel(false)).thenReturn(channel);
+        when(channel.getConnection()).thenReturn(rabbitConnection);
+        when(rabbitConnection.getServerProperties())
+                .thenReturn(Collections.singletonMap("version", "3.9.0"));
+    }
+
+    private Health health(final MultiRabbitHealthContributor contributor, final String name) {
+        return ((HealthIndicator) contributor.getContributor(name)).health();
+    }
+
+    @Test
+    void shouldProbeEachConnection() {
+        final MultiRabbitHealthContributor contributor = new MultiRabbitHealthContributor(routingConnectionFactory,
+                Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+        int contributors = 0;
+        for (NamedContributor<?> namedContributor : contributor) {
+            final Health health = ((HealthIndicator) namedContributor.getContributor()).health();
+            assertEquals(Status.UP, health.getStatus());
+            assertEquals("3.9.0", health.getDetails().get("version"));
+            contributors++;
+        }
+
+        assertEquals(2, contributors);
+        verify(connectionFactory).createConnection();
+        verify(anotherConnectionFactory).createConnection();
+        assertNull(contributor.getContributor("unknown"));
+    }
+
+    @Test
+    void shouldCacheHealthForTimeToLive() {
+        final MultiRabbitHealthContributor contributor = new MultiRabbitHealthContributor(routingConnectionFactory,
+                Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+        health(contributor, DUMMY_KEY);
+        health(contributor, DUMMY_KEY);
+        health(contributor, ANOTHER_KEY);
+
+        verify(connectionFactory, times(1)).createConnection();
+        verify(anotherConnectionFactory, times(1)).createConnection();
+    }
+
+    @Test
+    void shouldProbeAgainWhenExpired() {
+        final MultiRabbitHealthContributor contributor = new MultiRabbitHealthContributor(routingConnectionFactory,
+                Duration.ZERO, Duration.ofSeconds(5));
+
+        health(contributor, DUMMY_KEY);
+        health(contributor, DUMMY_KEY);
+
+        verify(connectionFactory, times(2)).createConnection();
+    }
+
+    @Test
+    void shouldNotProbeLazyConnectionUntilOpened() {
+        final MultiRabbitHealthContributor contributor = new MultiRabbitHealthContributor(routingConnectionFactory,
+                Duration.ofMinutes(1), Duration.ofSeconds(5), DUMMY_KEY::equals);
+
+        final Health lazyHealth = health(contributor, DUMMY_KEY);
+        assertEquals(Status.UNKNOWN, lazyHealth.getStatus());
+        assertEquals(true, lazyHealth.getDetails().get("lazy"));
+        assertEquals(Status.UP, health(contributor, ANOTHER_KEY).getStatus());
+        verify(connectionFactory, never()).createConnection();
+
+        final ArgumentCaptor<ConnectionListener> listener = ArgumentCaptor.forClass(ConnectionListener.class);
+        verify(connectionFactory).addConnectionListener(listener.capture());
+        listener.getValue().onCreate(connection);
+
+        assertEquals(Status.UP, health(contributor, DUMMY_KEY).getStatus());
+        verify(connectionFactory).createConnection();
+    }
+
+    @Test
+    void shouldReportDownWhenProbeTimesOut() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        when(connectionFactory.createConnection()).thenAnswer(invocation -> {
+            release.await();
+            return connection;
+        });
+        final MultiRabbitHealthContributor contributor = new MultiRabbitHealthContributor(routingConnectionFactory,
+                Duration.ofMinutes(1), Duration.ofMillis(50));
+
+        try {
+            final Health health = health(contributor, DUMMY_KEY);
+            assertEquals(Status.DOWN, health.getStatus());
+            assertEquals("Timed out after 50 ms", health.getDetails().get("error"));
+            assertEquals(Status.UP, health(contributor, ANOTHER_KEY).getStatus());
+        } finally {
+            release.countDown();
+        }
+    }
+}
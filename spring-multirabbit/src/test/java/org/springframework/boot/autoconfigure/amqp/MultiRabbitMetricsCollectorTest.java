@@ -0,0 +1,75 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(MockitoExtension.class)
+class MultiRabbitMetricsCollectorTest {
+
+    private static final String PREFIX = "rabbitmq";
+    private static final String CONSUMER_TAG = "dummy-consumer";
+
+    @Mock
+    private Channel channel;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private MultiRabbitMetricsCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        collector = new MultiRabbitMetricsCollector(registry, PREFIX, Tags.of("name", "dummy"));
+    }
+
+    private Timer acknowledgementLatency() {
+        return registry.get(PREFIX + ".acknowledged.latency").tag("name", "dummy").timer();
+    }
+
+    @Test
+    void shouldCountConsumers() {
+        collector.basicConsume(channel, CONSUMER_TAG, false);
+        collector.basicConsume(channel, "another-consumer", false);
+        assertEquals(2, collector.getConsumers());
+        assertEquals(2, registry.get(PREFIX + ".consumers").gauge().value());
+
+        collector.basicCancel(channel, CONSUMER_TAG);
+        assertEquals(1, collector.getConsumers());
+
+        collector.closeChannel(channel);
+        assertEquals(0, collector.getConsumers());
+    }
+
+    @Test
+    void shouldMeasureAcknowledgementLatency() {
+        collector.basicConsume(channel, CONSUMER_TAG, false);
+        collector.consumedMessage(channel, 1L, CONSUMER_TAG);
+        collector.consumedMessage(channel, 2L, CONSUMER_TAG);
+        collector.consumedMessage(channel, 3L, CONSUMER_TAG);
+
+        collector.basicAck(channel, 2L, true);
+        assertEquals(2, acknowledgementLatency().count());
+
+        collector.basicReject(channel, 3L);
+        collector.basicAck(channel, 3L, false);
+        assertEquals(2, acknowledgementLatency().count());
+    }
+
+    @Test
+    void shouldNotMeasureAutomaticAcknowledgements() {
+        collector.basicConsume(channel, CONSUMER_TAG, true);
+        collector.consumedMessage(channel, 1L, CONSUMER_TAG);
+        collector.basicAck(channel, 1L, false);
+
+        assertEquals(0, acknowledgementLatency().count());
+    }
+}
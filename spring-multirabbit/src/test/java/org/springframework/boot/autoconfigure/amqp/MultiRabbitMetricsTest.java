@@ -0,0 +1,56 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MultiRabbitMetricsTest {
+
+    private static final String BROKER_NAME = "broker1";
+    private static final String CONSUMERS = "rabbitmq.consumers";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final MultiRabbitMetrics metrics = new MultiRabbitMetrics(registry);
+
+    @Test
+    @DisplayName("should measure the connection factory bound last with a name")
+    void shouldMeasureConnectionFactoryBoundLast() {
+        final CachingConnectionFactory oldConnectionFactory = new CachingConnectionFactory();
+        final CachingConnectionFactory connectionFactory = new CachingConnectionFactory();
+        metrics.bindTo(BROKER_NAME, oldConnectionFactory);
+
+        metrics.bindTo(BROKER_NAME, connectionFactory);
+        collector(connectionFactory).basicConsume(mock(Channel.class), "consumer", true);
+
+        assertThat(registry.get(CONSUMERS).tag(MultiRabbitMetrics.NAME_TAG, BROKER_NAME).gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should remove the meters of an unbound connection factory, unless it was replaced")
+    void shouldRemoveMetersOfUnboundConnectionFactory() {
+        final CachingConnectionFactory oldConnectionFactory = new CachingConnectionFactory();
+        final CachingConnectionFactory connectionFactory = new CachingConnectionFactory();
+        metrics.bindTo(BROKER_NAME, oldConnectionFactory);
+        metrics.bindTo(BROKER_NAME, connectionFactory);
+        metrics.newRabbitTemplate(BROKER_NAME);
+
+        metrics.unbind(BROKER_NAME, oldConnectionFactory);
+        assertThat(registry.find(CONSUMERS).tag(MultiRabbitMetrics.NAME_TAG, BROKER_NAME).gauge()).isNotNull();
+
+        metrics.unbind(BROKER_NAME, connectionFactory);
+        assertThat(registry.find(CONSUMERS).tag(MultiRabbitMetrics.NAME_TAG, BROKER_NAME).gauge()).isNull();
+        assertThat(registry.find("rabbitmq.publish").tag(MultiRabbitMetrics.NAME_TAG, BROKER_NAME).timer())
+                .isNull();
+    }
+
+    private static MultiRabbitMetricsCollector collector(final CachingConnectionFactory connectionFactory) {
+        return (MultiRabbitMetricsCollector) connectionFactory.getRabbitConnectionFactory().getMetricsCollector();
+    }
+}
@@ -0,0 +1,220 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.connection.CorrelationData.Confirm;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.DirectFieldAccessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MultiRabbitPublisherTest {
+
+    private static final String BROKER_NAME = "broker1";
+    private static final String OTHER_BROKER_NAME = "broker2";
+    private static final String EXCHANGE = "exchange";
+    private static final String ROUTING_KEY = "routing-key";
+
+    private final Message message = new Message(new byte[0], new MessageProperties());
+    private final MultiRabbitTemplates templates = new MultiRabbitTemplates();
+
+    @Mock
+    private RabbitTemplate template;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private RabbitTemplate otherTemplate;
+
+    @Mock
+    private ConnectionFactory otherConnectionFactory;
+
+    private MultiRabbitPublisher publisher;
+
+    @BeforeEach
+    void beforeEach() {
+        templates.put(BROKER_NAME, template);
+        publisher = new MultiRabbitPublisher(templates);
+        lenient().when(template.getConnectionFactory()).thenReturn(connectionFactory);
+    }
+
+    @AfterEach
+    void afterEach() {
+        publisher.destroy();
+    }
+
+    @Test
+    @DisplayName("should complete with the confirm of the broker")
+    void shouldCompleteWithConfirm() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+
+        final CompletableFuture<Confirm> confirm = publisher.send(BROKER_NAME, EXCHANGE, ROUTING_KEY, message);
+
+        assertThat(confirm).isNotDone();
+        final CorrelationData correlationData = sentCorrelationData();
+        correlationData.getFuture().set(new Confirm(true, null));
+        assertThat(confirm).isCompleted();
+        assertThat(confirm.join().isAck()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should complete with a negative confirm when the message is returned")
+    void shouldCompleteWithNackWhenReturned() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+
+        final CompletableFuture<Confirm> confirm = publisher.send(BROKER_NAME, EXCHANGE, ROUTING_KEY, message);
+
+        final CorrelationData correlationData = sentCorrelationData();
+        correlationData.setReturned(new ReturnedMessage(message, 312, "NO_ROUTE", EXCHANGE, ROUTING_KEY));
+        correlationData.getFuture().set(new Confirm(true, null));
+        assertThat(confirm.join().isAck()).isFalse();
+        assertThat(confirm.join().getReason()).isEqualTo("Returned with 312 NO_ROUTE");
+    }
+
+    @Test
+    @DisplayName("should complete exceptionally when the publish fails")
+    void shouldCompleteExceptionallyWhenPublishFails() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        doThrow(new AmqpConnectException(new RuntimeException("unreachable")))
+                .when(template).send(eq(EXCHANGE), eq(ROUTING_KEY), eq(message), any(CorrelationData.class));
+
+        final CompletableFuture<Confirm> confirm = publisher.send(BROKER_NAME, EXCHANGE, ROUTING_KEY, message);
+
+        assertThat(confirm).isCompletedExceptionally();
+    }
+
+    @Test
+    @DisplayName("should fail to publish to a connection without correlated confirms")
+    void shouldFailWithoutConfirms() {
+        final CompletableFuture<Confirm> confirm = publisher.send(BROKER_NAME, EXCHANGE, ROUTING_KEY, message);
+
+        assertThat(confirm).isCompletedExceptionally();
+        assertThatThrownBy(confirm::join)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("MultiRabbitMQ broker 'broker1' is not set with correlated publisher confirms");
+        verify(template, never()).send(any(), any(), any(Message.class));
+        verify(template, never()).send(any(), any(), any(Message.class), any(CorrelationData.class));
+    }
+
+    @Test
+    @DisplayName("should broadcast to all connections with per-broker results")
+    void shouldBroadcastToAllConnections() throws Exception {
+        templates.put(OTHER_BROKER_NAME, otherTemplate);
+        when(otherTemplate.getConnectionFactory()).thenReturn(otherConnectionFactory);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture().set(new Confirm(true, null));
+            return null;
+        }).when(template).send(eq(EXCHANGE), eq(ROUTING_KEY), any(Message.class), any(CorrelationData.class));
+        when(otherConnectionFactory.isPublisherConfirms()).thenReturn(true);
+        final AmqpConnectException failure = new AmqpConnectException(new RuntimeException("unreachable"));
+        doThrow(failure).when(otherTemplate)
+                .send(eq(EXCHANGE), eq(ROUTING_KEY), any(Message.class), any(CorrelationData.class));
+
+        final MultiRabbitBroadcastResult result = publisher.broadcast(EXCHANGE, ROUTING_KEY, message)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(result.getConfirms()).containsOnlyKeys(BROKER_NAME);
+        assertThat(result.getConfirms().get(BROKER_NAME).isAck()).isTrue();
+        assertThat(result.getFailures()).containsOnlyKeys(OTHER_BROKER_NAME);
+        assertThat(result.getFailures().get(OTHER_BROKER_NAME)).isSameAs(failure);
+        assertThat(result.isAcknowledged()).isFalse();
+        final ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        verify(template).send(eq(EXCHANGE), eq(ROUTING_KEY), sent.capture(), any(CorrelationData.class));
+        assertThat(sent.getValue().getBody()).isSameAs(message.getBody());
+        assertThat(sent.getValue().getMessageProperties()).isNotSameAs(message.getMessageProperties());
+    }
+
+    @Test
+    @DisplayName("should convert once and broadcast to the given connections")
+    void shouldConvertAndBroadcast() throws Exception {
+        templates.put(OTHER_BROKER_NAME, otherTemplate);
+        when(otherTemplate.getConnectionFactory()).thenReturn(otherConnectionFactory);
+        when(otherConnectionFactory.isPublisherConfirms()).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture().set(new Confirm(true, null));
+            return null;
+        }).when(otherTemplate).send(eq(EXCHANGE), eq(ROUTING_KEY), any(Message.class), any(CorrelationData.class));
+
+        final MultiRabbitBroadcastResult result = publisher.convertAndBroadcast(
+                Collections.singleton(OTHER_BROKER_NAME), EXCHANGE, ROUTING_KEY, "payload").get(5, TimeUnit.SECONDS);
+
+        assertThat(result.isAcknowledged()).isTrue();
+        final ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        verify(otherTemplate).send(eq(EXCHANGE), eq(ROUTING_KEY), sent.capture(), any(CorrelationData.class));
+        assertThat(new String(sent.getValue().getBody(), StandardCharsets.UTF_8)).isEqualTo("payload");
+    }
+
+    @Test
+    @DisplayName("should report a connection without correlated confirms as a failure of the broadcast")
+    void shouldFailToBroadcastWithoutConfirms() throws Exception {
+        final MultiRabbitBroadcastResult result = publisher.broadcast(EXCHANGE, ROUTING_KEY, message)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(result.getConfirms()).isEmpty();
+        assertThat(result.getFailures()).containsOnlyKeys(BROKER_NAME);
+        assertThat(result.getFailures().get(BROKER_NAME))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("MultiRabbitMQ broker 'broker1' is not set with correlated publisher confirms");
+        assertThat(result.isAcknowledged()).isFalse();
+        verify(template, never()).send(any(), any(), any(Message.class));
+    }
+
+    @Test
+    @DisplayName("should broadcast on a pool bounded by the number of connections")
+    void shouldBroadcastOnPoolBoundedByConnections() {
+        templates.put(OTHER_BROKER_NAME, otherTemplate);
+        final MultiRabbitPublisher boundedPublisher = new MultiRabbitPublisher(templates);
+
+        final ThreadPoolExecutor executor = (ThreadPoolExecutor) new DirectFieldAccessor(boundedPublisher)
+                .getPropertyValue("ownedExecutor");
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(2);
+        assertThat(executor.allowsCoreThreadTimeOut()).isTrue();
+        boundedPublisher.destroy();
+        assertThat(executor.isShutdown()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should fail to broadcast to an unknown connection")
+    void shouldFailToBroadcastToUnknownConnection() {
+        assertThatThrownBy(() -> publisher.broadcast(Collections.singleton("unknown"), EXCHANGE, ROUTING_KEY,
+                message))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("MultiRabbitMQ broker 'unknown' does not exist in configuration");
+    }
+
+    private CorrelationData sentCorrelationData() {
+        final ArgumentCaptor<CorrelationData> correlationData = ArgumentCaptor.forClass(CorrelationData.class);
+        verify(template).send(eq(EXCHANGE), eq(ROUTING_KEY), eq(message), correlationData.capture());
+        return correlationData.getValue();
+    }
+}
@@ -0,0 +1,65 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.env.MapPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultiRabbitRefresherTest {
+
+    private static final String PREFIX = "spring.multirabbitmq.connections.";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MultiRabbitAutoConfiguration.class,
+                    RabbitAutoConfiguration.class))
+            .withPropertyValues("spring.multirabbitmq.enabled=true")
+            .withPropertyValues("spring.multirabbitmq.drain-period=0")
+            .withPropertyValues(PREFIX + "broker1.port=5673")
+            .withPropertyValues(PREFIX + "broker2.port=5674")
+            .withPropertyValues(PREFIX + "broker3.port=5675");
+
+    @Test
+    @DisplayName("should only rebuild the connections changed in the properties")
+    void shouldOnlyRebuildChangedConnections() {
+        this.contextRunner.run((context) -> {
+            final MultiRabbitRoutingConnectionFactory routingConnectionFactory
+                    = context.getBean(MultiRabbitRoutingConnectionFactory.class);
+            final ConnectionFactory unchanged = routingConnectionFactory.getTargetConnectionFactory("broker1");
+            final ConnectionFactory changed = routingConnectionFactory.getTargetConnectionFactory("broker2");
+            final Map<String, Object> properties = ((MapPropertySource) context.getEnvironment()
+                    .getPropertySources().get("test")).getSource();
+            properties.put(PREFIX + "broker2.port", "5676");
+            properties.remove(PREFIX + "broker3.port");
+            properties.put(PREFIX + "broker4.port", "5677");
+
+            context.getBean(MultiRabbitRefresher.class).refresh();
+
+            assertThat(context.getBean(MultiRabbitRegistry.class).getConnectionNames())
+                    .containsExactlyInAnyOrder("broker1", "broker2", "broker4");
+            assertThat(routingConnectionFactory.getTargetConnectionFactory("broker1")).isSameAs(unchanged);
+            assertThat(routingConnectionFactory.getTargetConnectionFactory("broker2")).isNotSameAs(changed);
+            assertThat(routingConnectionFactory.getTargetConnectionFactory("broker2").getPort()).isEqualTo(5676);
+            assertThat(routingConnectionFactory.getTargetConnectionFactory("broker4").getPort()).isEqualTo(5677);
+        });
+    }
+
+    @Test
+    @DisplayName("should not rebuild any connection when the properties did not change")
+    void shouldNotRebuildUnchangedConnections() {
+        this.contextRunner.run((context) -> {
+            final MultiRabbitRoutingConnectionFactory routingConnectionFactory
+                    = context.getBean(MultiRabbitRoutingConnectionFactory.class);
+            final Map<Object, ConnectionFactory> before = routingConnectionFactory.getTargetConnectionFactories();
+
+            context.getBean(MultiRabbitRefresher.class).refresh();
+
+            assertThat(routingConnectionFactory.getTargetConnectionFactories()).isEqualTo(before);
+        });
+    }
+}
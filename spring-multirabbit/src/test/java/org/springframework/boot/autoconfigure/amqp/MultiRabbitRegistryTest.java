@@ -0,0 +1,244 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultiRabbitRegistryTest {
+
+    private static final String BROKER_NAME = "broker1";
+    private static final String NEW_BROKER_NAME = "broker2";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MultiRabbitAutoConfiguration.class,
+                    RabbitAutoConfiguration.class))
+            .withPropertyValues("spring.multirabbitmq.enabled=true")
+            .withPropertyValues("spring.multirabbitmq.connections." + BROKER_NAME + ".port=5673");
+
+    @Test
+    @DisplayName("should register a connection at runtime")
+    void shouldRegisterConnection() {
+        this.contextRunner.run((context) -> {
+            final MultiRabbitRegistry registry = context.getBean(MultiRabbitRegistry.class);
+            final RabbitProperties properties = new RabbitProperties();
+            properties.setPort(5674);
+
+            final ConnectionFactory connectionFactory = registry.register(NEW_BROKER_NAME, properties);
+
+            assertThat(connectionFactory.getPort()).isEqualTo(5674);
+            assertThat(registry.getConnectionNames()).containsExactlyInAnyOrder(BROKER_NAME, NEW_BROKER_NAME);
+            assertThat(context.getBean(MultiRabbitRoutingConnectionFactory.class)
+                    .getTargetConnectionFactory(NEW_BROKER_NAME)).isSameAs(connectionFactory);
+            assertThat(context.getBean(NEW_BROKER_NAME)).isInstanceOf(SimpleRabbitListenerContainerFactory.class);
+            assertThat(context.getBean(NEW_BROKER_NAME + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX))
+                    .isInstanceOf(RabbitAdmin.class);
+            assertThat(context.getBean(MultiRabbitTemplates.class).get(NEW_BROKER_NAME).getConnectionFactory())
+                    .isSameAs(connectionFactory);
+        });
+    }
+
+    @Test
+    @DisplayName("should unregister a connection at runtime")
+    void shouldUnregisterConnection() {
+        this.contextRunner.run((context) -> {
+            final MultiRabbitRegistry registry = context.getBean(MultiRabbitRegistry.class);
+
+            registry.unregister(BROKER_NAME);
+
+            assertThat(registry.contains(BROKER_NAME)).isFalse();
+            assertThat(registry.getConnectionNames()).isEmpty();
+            assertThat(context.containsBean(BROKER_NAME)).isFalse();
+            assertThat(context.containsBean(BROKER_NAME + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX)).isFalse();
+            assertThat(context.getBean(MultiRabbitTemplates.class).getTemplates()).isEmpty();
+        });
+    }
+
+    @Test
+    @DisplayName("should drop a connection unregistered from its groups")
+    void shouldDropUnregisteredConnectionFromGroups() {
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.connections." + NEW_BROKER_NAME + ".port=5674")
+                .withPropertyValues("spring.multirabbitmq.groups.orders.members=" + BROKER_NAME + ","
+                        + NEW_BROKER_NAME)
+                .withPropertyValues("spring.multirabbitmq.groups.payments.members=" + NEW_BROKER_NAME)
+                .run((context) -> {
+                    final MultiRabbitRegistry registry = context.getBean(MultiRabbitRegistry.class);
+                    final MultiRabbitGroups groups = context.getBean(MultiRabbitGroups.class);
+
+                    assertThatThrownBy(() -> registry.unregister(NEW_BROKER_NAME))
+                            .isInstanceOf(IllegalArgumentException.class)
+                            .hasMessage("MultiRabbitMQ broker 'broker2' is the last member of group 'payments' and "
+                                    + "cannot be removed");
+                    assertThat(registry.contains(NEW_BROKER_NAME)).isTrue();
+
+                    registry.unregister(BROKER_NAME);
+
+                    assertThat(groups.getMembers("orders")).containsExactly(NEW_BROKER_NAME);
+                    for (int i = 0; i < 100; i++) {
+                        assertThat(groups.route("orders", "order-" + i)).isEqualTo(NEW_BROKER_NAME);
+                    }
+                });
+    }
+
+    @Test
+    @DisplayName("should replace a connection at runtime")
+    void shouldReplaceConnection() {
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.default-connection=" + BROKER_NAME)
+                .withPropertyValues("spring.multirabbitmq.drain-period=0")
+                .run((context) -> {
+                    final MultiRabbitRegistry registry = context.getBean(MultiRabbitRegistry.class);
+                    final MultiRabbitRoutingConnectionFactory routingConnectionFactory
+                            = context.getBean(MultiRabbitRoutingConnectionFactory.class);
+                    final ConnectionFactory oldConnectionFactory
+                            = routingConnectionFactory.getTargetConnectionFactory(BROKER_NAME);
+                    final RabbitProperties properties = new RabbitProperties();
+                    properties.setPort(5675);
+
+                    final ConnectionFactory connectionFactory = registry.replace(BROKER_NAME, properties);
+
+                    assertThat(connectionFactory).isNotSameAs(oldConnectionFactory);
+                    assertThat(connectionFactory.getPort()).isEqualTo(5675);
+                    assertThat(routingConnectionFactory.getTargetConnectionFactory(BROKER_NAME))
+                            .isSameAs(connectionFactory);
+                    assertThat(routingConnectionFactory.getDefaultTargetConnectionFactory())
+                            .isSameAs(connectionFactory);
+                    assertThat(context.getBean(BROKER_NAME)).isInstanceOf(SimpleRabbitListenerContainerFactory.class);
+                    assertThat(context.getBean(MultiRabbitTemplates.class).get(BROKER_NAME).getConnectionFactory())
+                            .isSameAs(connectionFactory);
+                });
+    }
+
+    @Test
+    @DisplayName("should move the listener threads of the containers to the connection replacing theirs")
+    void shouldMoveListenerThreadsOfContainersWhenReplacingConnection() {
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.shared-executor.enabled=true")
+                .withPropertyValues("spring.multirabbitmq.drain-period=0")
+                .run((context) -> {
+                    final SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+                    endpoint.setId("listener1");
+                    endpoint.setQueueNames("queue1");
+                    endpoint.setMessageListener(message -> {
+                    });
+                    context.getBean(RabbitListenerEndpointRegistry.class).registerListenerContainer(endpoint,
+                            context.getBean(BROKER_NAME, SimpleRabbitListenerContainerFactory.class), false);
+                    final MultiRabbitSharedExecutor sharedExecutor = (MultiRabbitSharedExecutor) ReflectionTestUtils
+                            .getField(context.getBean(MultiRabbitAutoConfiguration.MultiRabbitConnectionFactoryCreator
+                                    .class), "sharedExecutor");
+                    final RabbitProperties properties = new RabbitProperties();
+                    properties.setPort(5675);
+
+                    final ConnectionFactory connectionFactory = context.getBean(MultiRabbitRegistry.class)
+                            .replace(BROKER_NAME, properties);
+
+                    assertThat(sharedExecutor.getReservedThreads(connectionFactory)).isEqualTo(1);
+                    assertThat(sharedExecutor.getReservedThreads()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    @DisplayName("should apply the listener properties changed to the containers of the connection replaced")
+    void shouldApplyListenerPropertiesChangedWhenReplacingConnection() {
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.drain-period=0")
+                .run((context) -> {
+                    final SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+                    endpoint.setId("listener1");
+                    endpoint.setQueueNames("queue1");
+                    endpoint.setConcurrency("2");
+                    endpoint.setMessageListener(message -> {
+                    });
+                    final RabbitListenerEndpointRegistry endpointRegistry
+                            = context.getBean(RabbitListenerEndpointRegistry.class);
+                    endpointRegistry.registerListenerContainer(endpoint,
+                            context.getBean(BROKER_NAME, SimpleRabbitListenerContainerFactory.class), false);
+                    final RabbitProperties properties = new RabbitProperties();
+                    properties.setPort(5675);
+                    properties.getListener().getSimple().setPrefetch(50);
+                    properties.getListener().getSimple().setAcknowledgeMode(AcknowledgeMode.MANUAL);
+
+                    final ConnectionFactory connectionFactory = context.getBean(MultiRabbitRegistry.class)
+                            .replace(BROKER_NAME, properties);
+
+                    assertThat(endpointRegistry.getListenerContainer("listener1"))
+                            .hasFieldOrPropertyWithValue("connectionFactory", connectionFactory)
+                            .hasFieldOrPropertyWithValue("prefetchCount", 50)
+                            .hasFieldOrPropertyWithValue("acknowledgeMode", AcknowledgeMode.MANUAL)
+                            .hasFieldOrPropertyWithValue("concurrentConsumers", 2);
+                });
+    }
+
+    @Test
+    @DisplayName("should keep the connection when its replacement fails")
+    void shouldKeepConnectionWhenReplacementFails() {
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.default-connection=" + BROKER_NAME)
+                .run((context) -> {
+                    final MultiRabbitRegistry registry = context.getBean(MultiRabbitRegistry.class);
+                    final MultiRabbitRoutingConnectionFactory routingConnectionFactory
+                            = context.getBean(MultiRabbitRoutingConnectionFactory.class);
+                    final ConnectionFactory oldConnectionFactory
+                            = routingConnectionFactory.getTargetConnectionFactory(BROKER_NAME);
+                    final Object containerFactory = context.getBean(BROKER_NAME);
+                    final Object rabbitAdmin = context.getBean(BROKER_NAME + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX);
+                    final RabbitProperties properties = new RabbitProperties();
+                    properties.getSsl().setEnabled(true);
+                    properties.getSsl().setKeyStore("classpath:missing.jks");
+
+                    assertThatThrownBy(() -> registry.replace(BROKER_NAME, properties))
+                            .isInstanceOf(AmqpIOException.class);
+
+                    assertThat(routingConnectionFactory.getTargetConnectionFactory(BROKER_NAME))
+                            .isSameAs(oldConnectionFactory);
+                    assertThat(routingConnectionFactory.getDefaultTargetConnectionFactory())
+                            .isSameAs(oldConnectionFactory);
+                    assertThat(context.getBean(BROKER_NAME)).isSameAs(containerFactory);
+                    assertThat(context.getBean(BROKER_NAME + MultiRabbitConstants.RABBIT_ADMIN_SUFFIX))
+                            .isSameAs(rabbitAdmin);
+                    assertThat(context.getBean(MultiRabbitTemplates.class).get(BROKER_NAME).getConnectionFactory())
+                            .isSameAs(oldConnectionFactory);
+
+                    final RabbitProperties validProperties = new RabbitProperties();
+                    validProperties.setPort(5675);
+                    assertThat(registry.replace(BROKER_NAME, validProperties).getPort()).isEqualTo(5675);
+                });
+    }
+
+    @Test
+    @DisplayName("should fail to register an existing connection")
+    void shouldFailToRegisterExistingConnection() {
+        this.contextRunner.run((context) -> assertThatThrownBy(() -> context.getBean(MultiRabbitRegistry.class)
+                .register(BROKER_NAME, new RabbitProperties()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("MultiRabbitMQ broker 'broker1' already exists"));
+    }
+
+    @Test
+    @DisplayName("should fail to unregister an unknown or the default connection")
+    void shouldFailToUnregisterUnknownOrDefaultConnection() {
+        this.contextRunner
+                .withPropertyValues("spring.multirabbitmq.default-connection=" + BROKER_NAME)
+                .run((context) -> {
+                    final MultiRabbitRegistry registry = context.getBean(MultiRabbitRegistry.class);
+                    assertThatThrownBy(() -> registry.unregister("unknown"))
+                            .isInstanceOf(IllegalArgumentException.class)
+                            .hasMessage("MultiRabbitMQ broker 'unknown' does not exist in configuration");
+                    assertThatThrownBy(() -> registry.unregister(BROKER_NAME))
+                            .isInstanceOf(IllegalArgumentException.class)
+                            .hasMessage("MultiRabbitMQ broker 'broker1' is the default and cannot be removed");
+                });
+    }
+}
@@ -0,0 +1,105 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultiRabbitSharedExecutorTest {
+
+    private static final int MAX_SIZE = 4;
+    private static final int CONSUMERS = 10;
+
+    @Test
+    @DisplayName("should run more consumers than threads on a thread pool without rejecting them")
+    void shouldRunMoreConsumersThanThreadsOnThreadPool() throws Exception {
+        final ThreadPoolTaskExecutor threadPool = new ThreadPoolTaskExecutor();
+        threadPool.setCorePoolSize(MAX_SIZE);
+        threadPool.setMaxPoolSize(MAX_SIZE);
+        threadPool.setAllowCoreThreadTimeOut(true);
+        threadPool.initialize();
+        try {
+            assertRunsWithinReservations(new MultiRabbitSharedExecutor(threadPool, MAX_SIZE));
+        } finally {
+            threadPool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should run more consumers than threads on a thread per task without blocking")
+    void shouldRunMoreConsumersThanThreadsOnThreadPerTask() throws Exception {
+        // the executor of virtual threads, which creates a thread per task
+        final SimpleAsyncTaskExecutor threadPerTask = new SimpleAsyncTaskExecutor("virtual-");
+        assertRunsWithinReservations(new MultiRabbitSharedExecutor(threadPerTask, MAX_SIZE));
+    }
+
+    @Test
+    @DisplayName("should fail to reserve more threads than the ones left")
+    void shouldFailToReserveMoreThreadsThanLeft() {
+        final MultiRabbitSharedExecutor sharedExecutor
+                = new MultiRabbitSharedExecutor(new SimpleAsyncTaskExecutor(), MAX_SIZE);
+        final Object broker1 = new Object();
+        sharedExecutor.reserve("broker1", broker1, 3);
+
+        assertThatThrownBy(() -> sharedExecutor.reserve("broker2", new Object(), 2))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("MultiRabbitMQ broker 'broker2' needs 2 listener threads, but only 1 of the 4 threads "
+                        + "of the shared executor are left");
+
+        sharedExecutor.release(broker1);
+        sharedExecutor.reserve("broker2", new Object(), 2);
+        assertThat(sharedExecutor.getReservedThreads()).isEqualTo(2);
+    }
+
+    /**
+     * Submits more consumers than threads to two connections sharing the executor, and asserts that each connection
+     * runs at most its reserved threads at once, while all consumers eventually run.
+     */
+    private static void assertRunsWithinReservations(final MultiRabbitSharedExecutor sharedExecutor)
+            throws InterruptedException {
+        final TaskExecutor broker1 = sharedExecutor.reserve("broker1", new Object(), 3);
+        final TaskExecutor broker2 = sharedExecutor.reserve("broker2", new Object(), 1);
+        final AtomicInteger running1 = new AtomicInteger();
+        final AtomicInteger maxRunning1 = new AtomicInteger();
+        final AtomicInteger running2 = new AtomicInteger();
+        final AtomicInteger maxRunning2 = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2 * CONSUMERS);
+
+        for (int i = 0; i < CONSUMERS; i++) {
+            broker1.execute(consumer(running1, maxRunning1, release, done));
+            broker2.execute(consumer(running2, maxRunning2, release, done));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning1.get()).isEqualTo(3);
+        assertThat(maxRunning2.get()).isEqualTo(1);
+    }
+
+    private static Runnable consumer(final AtomicInteger running,
+                                     final AtomicInteger maxRunning,
+                                     final CountDownLatch release,
+                                     final CountDownLatch done) {
+        return () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+                done.countDown();
+            }
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package org.springframework.boot.autoconfigure.amqp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveConnectionFactoryContextWrapperTest {
+
+    private static final String DUMMY_CONTEXT_NAME = "dummy-context-name";
+    private static final String DUMMY_RETURN = "dummy-return";
+
+    @Mock
+    private ConnectionFactory defaultConnectionFactory;
+
+    @Mock
+    private ConnectionFactory targetConnectionFactory;
+
+    @Test
+    void shouldBindContextCarriedAcrossThreads() {
+        when(targetConnectionFactory.getVirtualHost()).thenReturn(DUMMY_RETURN);
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = routingConnectionFactory();
+        final ReactiveConnectionFactoryContextWrapper wrapper = new ReactiveConnectionFactoryContextWrapper(
+                new ConnectionFactoryContextWrapper(routingConnectionFactory));
+
+        final String result = Mono.just(DUMMY_CONTEXT_NAME)
+                .publishOn(Schedulers.parallel())
+                .flatMap(ignored -> wrapper.call(routingConnectionFactory::getVirtualHost)
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .contextWrite(ReactiveConnectionFactoryContextWrapper.withContext(DUMMY_CONTEXT_NAME))
+                .block();
+
+        assertEquals(DUMMY_RETURN, result);
+        verify(defaultConnectionFactory, never()).getVirtualHost();
+    }
+
+    @Test
+    void shouldBindGivenContextOnlyAroundExecution() {
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = routingConnectionFactory();
+        final ReactiveConnectionFactoryContextWrapper wrapper = new ReactiveConnectionFactoryContextWrapper(
+                new ConnectionFactoryContextWrapper(routingConnectionFactory));
+
+        wrapper.run(DUMMY_CONTEXT_NAME, routingConnectionFactory::getVirtualHost)
+                .subscribeOn(Schedulers.boundedElastic())
+                .block();
+        routingConnectionFactory.getVirtualHost();
+
+        verify(targetConnectionFactory).getVirtualHost();
+        verify(defaultConnectionFactory).getVirtualHost();
+    }
+
+    @Test
+    void shouldBindDefaultContextWhenNoneIsCarried() {
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = routingConnectionFactory();
+        final ReactiveConnectionFactoryContextWrapper wrapper = new ReactiveConnectionFactoryContextWrapper(
+                new ConnectionFactoryContextWrapper(routingConnectionFactory));
+
+        wrapper.run(routingConnectionFactory::getVirtualHost).block();
+
+        verify(defaultConnectionFactory).getVirtualHost();
+        assertThat(ReactiveConnectionFactoryContextWrapper.currentContext().block()).isNull();
+    }
+
+    @Test
+    void shouldPropagateErrors() {
+        final ReactiveConnectionFactoryContextWrapper wrapper = new ReactiveConnectionFactoryContextWrapper(
+                new ConnectionFactoryContextWrapper(routingConnectionFactory()));
+
+        final Mono<Void> failing = wrapper.run(DUMMY_CONTEXT_NAME, () -> {
+            throw new IllegalStateException("dummy-exception");
+        });
+
+        assertThrows(IllegalStateException.class, failing::block);
+    }
+
+    @Test
+    void shouldExposeCurrentContext() {
+        assertEquals(DUMMY_CONTEXT_NAME, ReactiveConnectionFactoryContextWrapper.currentContext()
+                .contextWrite(ReactiveConnectionFactoryContextWrapper.withContext(DUMMY_CONTEXT_NAME))
+                .block());
+    }
+
+    @Test
+    void shouldAutoConfigureReactiveWrapper() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(MultiRabbitAutoConfiguration.class,
+                        RabbitAutoConfiguration.class, MultiRabbitReactorAutoConfiguration.class))
+                .withPropertyValues("spring.multirabbitmq.enabled=true")
+                .run((context) -> assertThat(context).hasSingleBean(ReactiveConnectionFactoryContextWrapper.class));
+    }
+
+    private MultiRabbitRoutingConnectionFactory routingConnectionFactory() {
+        final MultiRabbitRoutingConnectionFactory routingConnectionFactory = new MultiRabbitRoutingConnectionFactory();
+        routingConnectionFactory.setTargetConnectionFactories(
+                Collections.singletonMap(DUMMY_CONTEXT_NAME, targetConnectionFactory));
+        routingConnectionFactory.setDefaultTargetConnectionFactory(defaultConnectionFactory);
+        return routingConnectionFactory;
+    }
+}